@@ -0,0 +1,391 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.lang.model.type.TypeKind;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the source of the codec and the codec provider for a {@link TypeModel}.
+ */
+final class CodecSourceWriter {
+    private final Filer filer;
+    private final Element element;
+    private final TypeModel typeModel;
+    private final String codecName;
+
+    CodecSourceWriter(final Filer filer, final Element element, final TypeModel typeModel) {
+        this.filer = filer;
+        this.element = element;
+        this.typeModel = typeModel;
+        this.codecName = "Generated" + typeModel.getFlatName() + "Codec";
+    }
+
+    void write() throws IOException {
+        writeSource(codecName, getCodecSource());
+        writeSource(codecName + "Provider", getCodecProviderSource());
+    }
+
+    private void writeSource(final String simpleName, final String source) throws IOException {
+        String qualifiedName = typeModel.getPackageName().isEmpty() ? simpleName : typeModel.getPackageName() + "." + simpleName;
+        JavaFileObject sourceFile = filer.createSourceFile(qualifiedName, element);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    private String getCodecSource() {
+        String typeName = typeModel.getTypeName();
+        List<TypeModel.Property> properties = typeModel.getProperties();
+        SourceBuilder source = new SourceBuilder();
+        appendHeader(source);
+        source.line("/**")
+                .line(" * A codec for {@link %s}, generated by {@code %s}.", typeName, CodecProcessor.class.getName())
+                .line(" */")
+                .line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})")
+                .line("%sfinal class %s implements org.bson.codecs.Codec<%s> {", getModifiers(), codecName, typeName)
+                .indent()
+                .line("private final org.bson.codecs.configuration.CodecRegistry registry;");
+        for (int i = 0; i < properties.size(); i++) {
+            source.line("private org.bson.codecs.Codec p%dCodec;", i);
+        }
+        source.line("")
+                .line("%s%s(final org.bson.codecs.configuration.CodecRegistry registry) {", getModifiers(), codecName)
+                .indent()
+                .line("this.registry = registry;")
+                .outdent()
+                .line("}")
+                .line("");
+
+        source.line("@Override")
+                .line("public void encode(final org.bson.BsonWriter writer, final %s value, final org.bson.codecs.EncoderContext "
+                        + "encoderContext) {", typeName)
+                .indent()
+                .line("writer.writeStartDocument();");
+        List<Integer> encodingOrder = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).getDocumentName().equals(TypeModel.ID_PROPERTY_NAME)) {
+                encodingOrder.add(0, i);
+            } else {
+                encodingOrder.add(i);
+            }
+        }
+        // like PojoCodec, write the id first, followed by the discriminator
+        boolean discriminatorWritten = typeModel.getDiscriminatorKey() == null;
+        for (int i : encodingOrder) {
+            if (!discriminatorWritten && !properties.get(i).getDocumentName().equals(TypeModel.ID_PROPERTY_NAME)) {
+                appendDiscriminator(source);
+                discriminatorWritten = true;
+            }
+            appendEncodeProperty(source, i, properties.get(i));
+        }
+        if (!discriminatorWritten) {
+            appendDiscriminator(source);
+        }
+        source.line("writer.writeEndDocument();")
+                .outdent()
+                .line("}")
+                .line("");
+
+        source.line("@Override")
+                .line("public %s decode(final org.bson.BsonReader reader, final org.bson.codecs.DecoderContext decoderContext) {",
+                        typeName)
+                .indent();
+        if (typeModel.isRecord()) {
+            for (int i = 0; i < properties.size(); i++) {
+                source.line("%s p%d = %s;", properties.get(i).getErasedTypeName(), i, getDefaultValue(properties.get(i).getKind()));
+            }
+        } else {
+            source.line("%s instance = new %s();", typeName, typeName);
+        }
+        source.line("reader.readStartDocument();")
+                .line("while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {")
+                .indent()
+                .line("java.lang.String name = reader.readName();")
+                .line("if (reader.getCurrentBsonType() == org.bson.BsonType.NULL) {")
+                .indent()
+                .line("reader.readNull();")
+                .line("continue;")
+                .outdent()
+                .line("}")
+                .line("switch (name) {")
+                .indent();
+        for (int i = 0; i < properties.size(); i++) {
+            TypeModel.Property property = properties.get(i);
+            source.line("case %s:", literal(property.getDocumentName()))
+                    .indent();
+            String value = getDecodeExpression(i, property);
+            if (typeModel.isRecord()) {
+                source.line("p%d = %s;", i, value);
+            } else if (property.getField() != null) {
+                source.line("instance.%s = %s;", property.getField(), value);
+            } else {
+                source.line("instance.%s(%s);", property.getSetter(), value);
+            }
+            source.line("break;")
+                    .outdent();
+        }
+        source.line("default:")
+                .indent()
+                .line("reader.skipValue();")
+                .line("break;")
+                .outdent()
+                .outdent()
+                .line("}")
+                .outdent()
+                .line("}")
+                .line("reader.readEndDocument();");
+        if (typeModel.isRecord()) {
+            List<String> arguments = new ArrayList<>();
+            for (int i = 0; i < properties.size(); i++) {
+                arguments.add("p" + i);
+            }
+            source.line("return new %s(%s);", typeName, String.join(", ", arguments));
+        } else {
+            source.line("return instance;");
+        }
+        source.outdent()
+                .line("}")
+                .line("");
+
+        source.line("@Override")
+                .line("public java.lang.Class<%s> getEncoderClass() {", typeName)
+                .indent()
+                .line("return %s.class;", typeName)
+                .outdent()
+                .line("}");
+
+        for (int i = 0; i < properties.size(); i++) {
+            TypeModel.Property property = properties.get(i);
+            String codecLookup = property.getCodecClassName() + ".class";
+            if (!property.getCodecTypeArgumentClassNames().isEmpty()) {
+                List<String> typeArguments = new ArrayList<>();
+                for (String typeArgument : property.getCodecTypeArgumentClassNames()) {
+                    typeArguments.add(typeArgument + ".class");
+                }
+                codecLookup += ", java.util.Arrays.<java.lang.reflect.Type>asList(" + String.join(", ", typeArguments) + ")";
+            }
+            source.line("")
+                    .line("private org.bson.codecs.Codec p%dCodec() {", i)
+                    .indent()
+                    .line("if (p%dCodec == null) {", i)
+                    .indent()
+                    .line("p%dCodec = registry.get(%s);", i, codecLookup)
+                    .outdent()
+                    .line("}")
+                    .line("return p%dCodec;", i)
+                    .outdent()
+                    .line("}");
+        }
+        source.outdent()
+                .line("}");
+        return source.toString();
+    }
+
+    private String getCodecProviderSource() {
+        String typeName = typeModel.getTypeName();
+        SourceBuilder source = new SourceBuilder();
+        appendHeader(source);
+        return source.line("/**")
+                .line(" * A codec provider for {@link %s}, generated by {@code %s}.", typeName, CodecProcessor.class.getName())
+                .line(" */")
+                .line("%sfinal class %sProvider implements org.bson.codecs.configuration.CodecProvider {", getModifiers(), codecName)
+                .indent()
+                .line("@Override")
+                .line("@SuppressWarnings(\"unchecked\")")
+                .line("public <T> org.bson.codecs.Codec<T> get(final java.lang.Class<T> clazz, "
+                        + "final org.bson.codecs.configuration.CodecRegistry registry) {")
+                .indent()
+                .line("if (clazz == %s.class) {", typeName)
+                .indent()
+                .line("return (org.bson.codecs.Codec<T>) new %s(registry);", codecName)
+                .outdent()
+                .line("}")
+                .line("return null;")
+                .outdent()
+                .line("}")
+                .outdent()
+                .line("}")
+                .toString();
+    }
+
+    private void appendHeader(final SourceBuilder source) {
+        source.line("// Generated by %s. Do not edit.", CodecProcessor.class.getName());
+        if (!typeModel.getPackageName().isEmpty()) {
+            source.line("package %s;", typeModel.getPackageName());
+        }
+        source.line("");
+    }
+
+    private void appendDiscriminator(final SourceBuilder source) {
+        source.line("writer.writeString(%s, %s);", literal(typeModel.getDiscriminatorKey()), literal(typeModel.getDiscriminator()));
+    }
+
+    private void appendEncodeProperty(final SourceBuilder source, final int index, final TypeModel.Property property) {
+        String name = literal(property.getDocumentName());
+        String getter = "value." + property.getGetter();
+        switch (property.getKind()) {
+            case INT:
+                source.line("writer.writeInt32(%s, %s);", name, getter);
+                break;
+            case LONG:
+                source.line("writer.writeInt64(%s, %s);", name, getter);
+                break;
+            case DOUBLE:
+                source.line("writer.writeDouble(%s, %s);", name, getter);
+                break;
+            case BOOLEAN:
+                source.line("writer.writeBoolean(%s, %s);", name, getter);
+                break;
+            default:
+                if (property.getKind().isPrimitive()) {
+                    source.line("writer.writeName(%s);", name)
+                            .line("encoderContext.encodeWithChildContext(p%dCodec(), writer, %s);", index, getter);
+                } else {
+                    source.line("%s p%d = %s;", property.getErasedTypeName(), index, getter)
+                            .line("if (p%d != null) {", index)
+                            .indent();
+                    if (property.isString()) {
+                        source.line("writer.writeString(%s, p%d);", name, index);
+                    } else {
+                        source.line("writer.writeName(%s);", name)
+                                .line("encoderContext.encodeWithChildContext(p%dCodec(), writer, p%d);", index, index);
+                    }
+                    source.outdent()
+                            .line("}");
+                }
+        }
+    }
+
+    private String getDecodeExpression(final int index, final TypeModel.Property property) {
+        String decodeWithCodec = format("(%s) decoderContext.decodeWithChildContext(p%dCodec(), reader)", property.getBoxedTypeName(),
+                index);
+        String bsonType;
+        String read;
+        if (property.isString()) {
+            bsonType = "STRING";
+            read = "readString";
+        } else if (property.getKind() == TypeKind.INT) {
+            bsonType = "INT32";
+            read = "readInt32";
+        } else if (property.getKind() == TypeKind.LONG) {
+            bsonType = "INT64";
+            read = "readInt64";
+        } else if (property.getKind() == TypeKind.DOUBLE) {
+            bsonType = "DOUBLE";
+            read = "readDouble";
+        } else if (property.getKind() == TypeKind.BOOLEAN) {
+            bsonType = "BOOLEAN";
+            read = "readBoolean";
+        } else {
+            return decodeWithCodec;
+        }
+        return format("reader.getCurrentBsonType() == org.bson.BsonType.%s ? reader.%s() : %s", bsonType, read, decodeWithCodec);
+    }
+
+    private String getModifiers() {
+        return typeModel.isPublic() ? "public " : "";
+    }
+
+    private static String getDefaultValue(final TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "false";
+            case BYTE:
+                return "(byte) 0";
+            case SHORT:
+                return "(short) 0";
+            case CHAR:
+                return "(char) 0";
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0.0f";
+            case DOUBLE:
+                return "0.0";
+            default:
+                return "null";
+        }
+    }
+
+    private static String literal(final String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else if (c == '\r') {
+                builder.append("\\r");
+            } else if (c == '\t') {
+                builder.append("\\t");
+            } else if (c < 0x20) {
+                // not a unicode escape, since javac translates those before lexing, which would end the literal at a line feed or a
+                // carriage return
+                builder.append(format("\\%03o", (int) c));
+            } else if (c > 0x7e) {
+                builder.append(format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static final class SourceBuilder {
+        private final StringBuilder builder = new StringBuilder();
+        private int indentation;
+
+        SourceBuilder line(final String format, final Object... args) {
+            String line = args.length == 0 ? format : format(format, args);
+            if (!line.isEmpty()) {
+                for (int i = 0; i < indentation; i++) {
+                    builder.append("    ");
+                }
+            }
+            builder.append(line).append('\n');
+            return this;
+        }
+
+        SourceBuilder indent() {
+            indentation++;
+            return this;
+        }
+
+        SourceBuilder outdent() {
+            indentation--;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
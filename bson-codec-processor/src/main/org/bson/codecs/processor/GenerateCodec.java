@@ -0,0 +1,59 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation that marks a record or a POJO for which {@link CodecProcessor} generates a {@code Codec} and a {@code CodecProvider}
+ * at compile time, as an alternative to the reflective {@code RecordCodecProvider} and {@code PojoCodecProvider}.
+ *
+ * <p>For a type {@code Person} the processor generates {@code GeneratedPersonCodec} and {@code GeneratedPersonCodecProvider} in the
+ * same package. For a nested type {@code Outer.Person} it generates {@code GeneratedOuter_PersonCodec} and
+ * {@code GeneratedOuter_PersonCodecProvider}.</p>
+ *
+ * <p>The annotated type must be a record, or a class with a non-private constructor that takes no arguments. It must not be
+ * abstract, generic or private, and if it is nested it must be static. The properties of a record are its components. The properties
+ * of a class are its non-static, non-transient fields, including inherited ones, that are either public and not final, or have a
+ * public getter and setter.</p>
+ *
+ * <p>The following annotations are supported:</p>
+ * <ul>
+ *     <li>{@link org.bson.codecs.pojo.annotations.BsonId} and {@link org.bson.codecs.pojo.annotations.BsonProperty}, which set the
+ *     name of a property in the document</li>
+ *     <li>{@link org.bson.codecs.pojo.annotations.BsonIgnore}, which excludes a property of a class</li>
+ *     <li>{@link org.bson.codecs.pojo.annotations.BsonDiscriminator}, which adds a discriminator to encoded documents. The
+ *     discriminator is skipped when decoding, so the generated codec does not decode subclasses.</li>
+ * </ul>
+ *
+ * <p>Null properties are not encoded, and decoding a null value leaves the property at its default value. Each property is encoded
+ * and decoded with the codec for its type from the registry passed to the generated provider, except for {@code String},
+ * {@code int}, {@code long}, {@code double} and {@code boolean} properties, which are read and written directly when the BSON type
+ * matches.</p>
+ *
+ * @since 5.2
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateCodec {
+}
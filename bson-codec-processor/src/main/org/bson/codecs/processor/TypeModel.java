@@ -0,0 +1,514 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The structure of a type annotated with {@link GenerateCodec}, as needed to write its codec.
+ */
+final class TypeModel {
+    private static final String ANNOTATIONS_PACKAGE = "org.bson.codecs.pojo.annotations.";
+    private static final String BSON_CREATOR = ANNOTATIONS_PACKAGE + "BsonCreator";
+    private static final String BSON_DISCRIMINATOR = ANNOTATIONS_PACKAGE + "BsonDiscriminator";
+    private static final String BSON_EXTRA_ELEMENTS = ANNOTATIONS_PACKAGE + "BsonExtraElements";
+    private static final String BSON_ID = ANNOTATIONS_PACKAGE + "BsonId";
+    private static final String BSON_IGNORE = ANNOTATIONS_PACKAGE + "BsonIgnore";
+    private static final String BSON_PROPERTY = ANNOTATIONS_PACKAGE + "BsonProperty";
+    private static final String BSON_REPRESENTATION = ANNOTATIONS_PACKAGE + "BsonRepresentation";
+    static final String ID_PROPERTY_NAME = "_id";
+
+    private final String packageName;
+    private final String typeName;
+    private final String flatName;
+    private final boolean isPublic;
+    private final boolean isRecord;
+    private final String discriminatorKey;
+    private final String discriminator;
+    private final List<Property> properties;
+
+    private TypeModel(final String packageName, final String typeName, final String flatName, final boolean isPublic,
+                      final boolean isRecord, final String discriminatorKey, final String discriminator,
+                      final List<Property> properties) {
+        this.packageName = packageName;
+        this.typeName = typeName;
+        this.flatName = flatName;
+        this.isPublic = isPublic;
+        this.isRecord = isRecord;
+        this.discriminatorKey = discriminatorKey;
+        this.discriminator = discriminator;
+        this.properties = unmodifiableList(properties);
+    }
+
+    /**
+     * The package of the annotated type, which is empty for the unnamed package.
+     */
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * The canonical name of the annotated type.
+     */
+    String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * The simple names of the annotated type and the types enclosing it, joined with underscores.
+     */
+    String getFlatName() {
+        return flatName;
+    }
+
+    boolean isPublic() {
+        return isPublic;
+    }
+
+    boolean isRecord() {
+        return isRecord;
+    }
+
+    /**
+     * The discriminator key, or null if encoded documents do not have a discriminator.
+     */
+    String getDiscriminatorKey() {
+        return discriminatorKey;
+    }
+
+    String getDiscriminator() {
+        return discriminator;
+    }
+
+    /**
+     * The properties, which for records are in the order of the record components.
+     */
+    List<Property> getProperties() {
+        return properties;
+    }
+
+    static TypeModel create(final ProcessingEnvironment processingEnvironment, final Element element) {
+        Elements elements = processingEnvironment.getElementUtils();
+        boolean isRecord = element.getKind().name().equals("RECORD");
+        if (element.getKind() != ElementKind.CLASS && !isRecord) {
+            throw new InvalidElementException("@GenerateCodec can only be applied to a class or a record", element);
+        }
+        TypeElement typeElement = (TypeElement) element;
+        if (!typeElement.getTypeParameters().isEmpty()) {
+            throw new InvalidElementException(format("@GenerateCodec does not support generic types such as %s", typeElement),
+                    typeElement);
+        }
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new InvalidElementException(format("@GenerateCodec does not support abstract types such as %s", typeElement),
+                    typeElement);
+        }
+        StringBuilder flatName = new StringBuilder(typeElement.getSimpleName());
+        for (Element cur = typeElement; cur.getKind() != ElementKind.PACKAGE; cur = cur.getEnclosingElement()) {
+            TypeElement curType = (TypeElement) cur;
+            if (curType.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new InvalidElementException(format("@GenerateCodec does not support %s, as it is not accessible from its package",
+                        typeElement), typeElement);
+            }
+            if (curType.getNestingKind() == NestingKind.MEMBER && !curType.getModifiers().contains(Modifier.STATIC)
+                    && curType.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                throw new InvalidElementException(format("@GenerateCodec does not support inner classes such as %s", typeElement),
+                        typeElement);
+            }
+            if (curType.getNestingKind() == NestingKind.LOCAL || curType.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new InvalidElementException(format("@GenerateCodec does not support local classes such as %s", typeElement),
+                        typeElement);
+            }
+            if (cur != typeElement) {
+                flatName.insert(0, curType.getSimpleName() + "_");
+            }
+        }
+
+        String discriminatorKey = null;
+        String discriminator = null;
+        AnnotationMirror discriminatorAnnotation = getAnnotation(typeElement, BSON_DISCRIMINATOR);
+        if (discriminatorAnnotation != null) {
+            discriminatorKey = getStringValue(elements, discriminatorAnnotation, "key");
+            if (discriminatorKey.isEmpty()) {
+                discriminatorKey = "_t";
+            }
+            discriminator = getStringValue(elements, discriminatorAnnotation, "value");
+            if (discriminator.isEmpty()) {
+                discriminator = elements.getBinaryName(typeElement).toString();
+            }
+        }
+
+        List<Property> properties = isRecord ? getRecordProperties(processingEnvironment, typeElement)
+                : getClassProperties(processingEnvironment, typeElement);
+        Set<String> documentNames = new HashSet<>();
+        if (discriminatorKey != null) {
+            documentNames.add(discriminatorKey);
+        }
+        for (Property property : properties) {
+            if (!documentNames.add(property.getDocumentName())) {
+                throw new InvalidElementException(format("More than one property of %s is named '%s' in the document", typeElement,
+                        property.getDocumentName()), property.getElement());
+            }
+        }
+        PackageElement packageElement = elements.getPackageOf(typeElement);
+        return new TypeModel(packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString(),
+                typeElement.getQualifiedName().toString(), flatName.toString(), typeElement.getModifiers().contains(Modifier.PUBLIC),
+                isRecord, discriminatorKey, discriminator, properties);
+    }
+
+    private static List<Property> getRecordProperties(final ProcessingEnvironment processingEnvironment,
+                                                      final TypeElement typeElement) {
+        checkNoCreator(typeElement);
+        List<Property> properties = new ArrayList<>();
+        for (Element enclosed : typeElement.getEnclosedElements()) {
+            if (!enclosed.getKind().name().equals("RECORD_COMPONENT")) {
+                continue;
+            }
+            String name = enclosed.getSimpleName().toString();
+            // annotations on a record component are propagated to the private field, which is where PojoCodec looks for them too
+            VariableElement field = ElementFilter.fieldsIn(typeElement.getEnclosedElements()).stream()
+                    .filter(f -> f.getSimpleName().contentEquals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidElementException(format("Unable to find the field of record component %s", name),
+                            enclosed));
+            List<Element> annotated = new ArrayList<>();
+            annotated.add(field);
+            if (getAnnotated(annotated, BSON_IGNORE) != null) {
+                throw new InvalidElementException("@BsonIgnore is not supported on record components", enclosed);
+            }
+            properties.add(new Property(processingEnvironment, enclosed, name, getDocumentName(processingEnvironment, name, annotated),
+                    enclosed.asType(), name + "()", null, null));
+        }
+        return properties;
+    }
+
+    private static List<Property> getClassProperties(final ProcessingEnvironment processingEnvironment,
+                                                     final TypeElement typeElement) {
+        Types types = processingEnvironment.getTypeUtils();
+        checkNoCreator(typeElement);
+        boolean hasNoArgsConstructor = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasNoArgsConstructor) {
+            throw new InvalidElementException(format("%s must have a non-private constructor that takes no arguments to have a codec "
+                    + "generated", typeElement), typeElement);
+        }
+
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnvironment.getElementUtils().getAllMembers(typeElement));
+        List<Property> properties = new ArrayList<>();
+        Set<String> propertyNames = new HashSet<>();
+        for (TypeElement cur = typeElement; cur != null; cur = getSuperclass(types, cur)) {
+            for (VariableElement field : ElementFilter.fieldsIn(cur.getEnclosedElements())) {
+                String name = field.getSimpleName().toString();
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT) || !propertyNames.add(name)) {
+                    continue;
+                }
+                ExecutableElement getter = findGetter(types, methods, field);
+                ExecutableElement setter = findSetter(types, methods, field);
+                List<Element> annotated = new ArrayList<>();
+                annotated.add(field);
+                if (getter != null) {
+                    annotated.add(getter);
+                }
+                if (setter != null) {
+                    annotated.add(setter);
+                    annotated.addAll(setter.getParameters());
+                }
+                if (getAnnotated(annotated, BSON_IGNORE) != null) {
+                    continue;
+                }
+                String documentName = getDocumentName(processingEnvironment, name, annotated);
+                if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.FINAL)) {
+                    properties.add(new Property(processingEnvironment, field, name, documentName, field.asType(), name, name, null));
+                } else if (getter != null && setter != null) {
+                    properties.add(new Property(processingEnvironment, field, name, documentName, field.asType(),
+                            getter.getSimpleName() + "()", null, setter.getSimpleName().toString()));
+                } else if (getAnnotated(annotated, BSON_PROPERTY) != null || getAnnotated(annotated, BSON_ID) != null) {
+                    throw new InvalidElementException(format("Property %s of %s must be public and not final, or have a public getter "
+                            + "and setter, to have a codec generated", name, typeElement), field);
+                }
+            }
+        }
+        return properties;
+    }
+
+    private static TypeElement getSuperclass(final Types types, final TypeElement typeElement) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superclassElement = (TypeElement) types.asElement(superclass);
+        return superclassElement.getQualifiedName().contentEquals("java.lang.Object") ? null : superclassElement;
+    }
+
+    private static ExecutableElement findGetter(final Types types, final List<ExecutableElement> methods, final VariableElement field) {
+        String suffix = capitalize(field.getSimpleName().toString());
+        boolean isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        for (ExecutableElement method : methods) {
+            String methodName = method.getSimpleName().toString();
+            if (isAccessible(method) && method.getParameters().isEmpty()
+                    && (methodName.equals("get" + suffix) || (isBoolean && methodName.equals("is" + suffix)))
+                    && types.isSameType(method.getReturnType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static ExecutableElement findSetter(final Types types, final List<ExecutableElement> methods, final VariableElement field) {
+        String methodName = "set" + capitalize(field.getSimpleName().toString());
+        for (ExecutableElement method : methods) {
+            if (isAccessible(method) && method.getSimpleName().contentEquals(methodName) && method.getParameters().size() == 1
+                    && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAccessible(final ExecutableElement method) {
+        return method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static void checkNoCreator(final TypeElement typeElement) {
+        for (Element enclosed : typeElement.getEnclosedElements()) {
+            if (getAnnotation(enclosed, BSON_CREATOR) != null) {
+                throw new InvalidElementException("@BsonCreator is not supported by @GenerateCodec", enclosed);
+            }
+        }
+    }
+
+    private static String getDocumentName(final ProcessingEnvironment processingEnvironment, final String name,
+                                          final List<Element> annotated) {
+        for (String unsupported : new String[] {BSON_EXTRA_ELEMENTS, BSON_REPRESENTATION}) {
+            Element element = getAnnotated(annotated, unsupported);
+            if (element != null) {
+                throw new InvalidElementException(format("@%s is not supported by @GenerateCodec",
+                        unsupported.substring(ANNOTATIONS_PACKAGE.length())), element);
+            }
+        }
+        if (getAnnotated(annotated, BSON_ID) != null) {
+            return ID_PROPERTY_NAME;
+        }
+        Element element = getAnnotated(annotated, BSON_PROPERTY);
+        if (element != null) {
+            String value = getStringValue(processingEnvironment.getElementUtils(), getAnnotation(element, BSON_PROPERTY), "value");
+            if (!value.isEmpty()) {
+                return value;
+            }
+        }
+        return name;
+    }
+
+    private static Element getAnnotated(final List<Element> elements, final String annotationName) {
+        for (Element element : elements) {
+            if (getAnnotation(element, annotationName) != null) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationMirror getAnnotation(final Element element, final String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String getStringValue(final Elements elements, final AnnotationMirror annotation, final String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return (String) entry.getValue().getValue();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * A property of the annotated type.
+     */
+    static final class Property {
+        private final Element element;
+        private final String name;
+        private final String documentName;
+        private final TypeKind kind;
+        private final String erasedTypeName;
+        private final String boxedTypeName;
+        private final String codecClassName;
+        private final List<String> codecTypeArgumentClassNames;
+        private final String getter;
+        private final String field;
+        private final String setter;
+
+        Property(final ProcessingEnvironment processingEnvironment, final Element element, final String name, final String documentName,
+                 final TypeMirror type, final String getter, final String field, final String setter) {
+            Types types = processingEnvironment.getTypeUtils();
+            this.element = element;
+            this.name = name;
+            this.documentName = documentName;
+            this.kind = type.getKind();
+            this.getter = getter;
+            this.field = field;
+            this.setter = setter;
+            if (type.getKind().isPrimitive()) {
+                erasedTypeName = type.getKind().name().toLowerCase(Locale.ROOT);
+                boxedTypeName = types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString();
+                codecClassName = boxedTypeName;
+                codecTypeArgumentClassNames = new ArrayList<>();
+            } else if (type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ARRAY) {
+                erasedTypeName = getErasedTypeName(types, type);
+                boxedTypeName = erasedTypeName;
+                codecClassName = erasedTypeName;
+                codecTypeArgumentClassNames = new ArrayList<>();
+                if (type.getKind() == TypeKind.DECLARED) {
+                    for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                        codecTypeArgumentClassNames.add(getTypeArgumentClassName(types, typeArgument));
+                    }
+                }
+            } else {
+                throw new InvalidElementException(format("@GenerateCodec does not support properties of type %s", type), element);
+            }
+        }
+
+        Element getElement() {
+            return element;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getDocumentName() {
+            return documentName;
+        }
+
+        /**
+         * The kind of the type of the property, which for anything other than a primitive is {@link TypeKind#DECLARED} or
+         * {@link TypeKind#ARRAY}.
+         */
+        TypeKind getKind() {
+            return kind;
+        }
+
+        boolean isString() {
+            return "java.lang.String".equals(erasedTypeName);
+        }
+
+        /**
+         * The name of the type of the property, without any type arguments.
+         */
+        String getErasedTypeName() {
+            return erasedTypeName;
+        }
+
+        /**
+         * The name of the boxed type of the property, which is the same as the erased type name for non-primitive types.
+         */
+        String getBoxedTypeName() {
+            return boxedTypeName;
+        }
+
+        /**
+         * The name of the class to get the codec for from the registry.
+         */
+        String getCodecClassName() {
+            return codecClassName;
+        }
+
+        /**
+         * The names of the classes to pass as type arguments when getting the codec from the registry.
+         */
+        List<String> getCodecTypeArgumentClassNames() {
+            return codecTypeArgumentClassNames;
+        }
+
+        /**
+         * The expression, relative to an instance, that gets the value of the property.
+         */
+        String getGetter() {
+            return getter;
+        }
+
+        /**
+         * The name of the public field that holds the property, or null if it is set with a setter or through a constructor.
+         */
+        String getField() {
+            return field;
+        }
+
+        /**
+         * The name of the setter of the property, or null if it is set through a public field or a constructor.
+         */
+        String getSetter() {
+            return setter;
+        }
+
+        private static String getErasedTypeName(final Types types, final TypeMirror type) {
+            if (type.getKind() == TypeKind.ARRAY) {
+                return getErasedTypeName(types, ((ArrayType) type).getComponentType()) + "[]";
+            } else if (type.getKind() == TypeKind.DECLARED) {
+                return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+            } else if (type.getKind().isPrimitive()) {
+                return type.getKind().name().toLowerCase(Locale.ROOT);
+            }
+            return "java.lang.Object";
+        }
+
+        private static String getTypeArgumentClassName(final Types types, final TypeMirror typeArgument) {
+            if (typeArgument.getKind() == TypeKind.WILDCARD) {
+                TypeMirror extendsBound = ((WildcardType) typeArgument).getExtendsBound();
+                return extendsBound == null ? "java.lang.Object" : getTypeArgumentClassName(types, extendsBound);
+            }
+            return getErasedTypeName(types, typeArgument);
+        }
+    }
+}
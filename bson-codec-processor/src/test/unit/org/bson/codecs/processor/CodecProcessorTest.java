@@ -0,0 +1,297 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.codecs.processor;
+
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.lang.model.SourceVersion;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+import static org.bson.conversions.Bson.DEFAULT_CODEC_REGISTRY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CodecProcessorTest {
+
+    private static final String PERSON_SOURCE = String.join("\n",
+            "package sample;",
+            "",
+            "import org.bson.codecs.pojo.annotations.BsonDiscriminator;",
+            "import org.bson.codecs.pojo.annotations.BsonId;",
+            "import org.bson.codecs.pojo.annotations.BsonIgnore;",
+            "import org.bson.codecs.pojo.annotations.BsonProperty;",
+            "import org.bson.codecs.processor.GenerateCodec;",
+            "import org.bson.types.ObjectId;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "@GenerateCodec",
+            "@BsonDiscriminator",
+            "public class Person {",
+            "    private String name;",
+            "    @BsonProperty(\"years\")",
+            "    private int age;",
+            "    private boolean active;",
+            "    @BsonId",
+            "    private ObjectId id;",
+            "    private List<String> tags;",
+            "    private Map<String, Long> scores;",
+            "    @BsonIgnore",
+            "    private String ignored;",
+            "    public double height;",
+            "    private short rank;",
+            "    public String getName() { return name; }",
+            "    public void setName(String name) { this.name = name; }",
+            "    public int getAge() { return age; }",
+            "    public void setAge(int age) { this.age = age; }",
+            "    public boolean isActive() { return active; }",
+            "    public void setActive(boolean active) { this.active = active; }",
+            "    public ObjectId getId() { return id; }",
+            "    public void setId(ObjectId id) { this.id = id; }",
+            "    public List<String> getTags() { return tags; }",
+            "    public void setTags(List<String> tags) { this.tags = tags; }",
+            "    public Map<String, Long> getScores() { return scores; }",
+            "    public void setScores(Map<String, Long> scores) { this.scores = scores; }",
+            "    public String getIgnored() { return ignored; }",
+            "    public void setIgnored(String ignored) { this.ignored = ignored; }",
+            "    public short getRank() { return rank; }",
+            "    public void setRank(short rank) { this.rank = rank; }",
+            "}");
+
+    private static final BsonDocument PERSON_DOCUMENT = BsonDocument.parse("{_id: {$oid: '5f2b6e1c9d3b2a0001a1b2c3'}, "
+            + "_t: 'sample.Person', name: 'Ada', years: 36, active: true, tags: ['a', 'b'], scores: {math: {$numberLong: '10'}}, "
+            + "height: 1.7, rank: 3}");
+
+    private Path outputDirectory;
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (outputDirectory != null) {
+            try (Stream<Path> paths = Files.walk(outputDirectory)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Test
+    public void shouldGenerateCodecForPojo() throws Exception {
+        Codec<Object> codec = getGeneratedCodec(compile("sample.Person", PERSON_SOURCE), "sample.Person", "GeneratedPersonCodecProvider");
+
+        Object person = decode(codec, PERSON_DOCUMENT);
+        assertEquals(PERSON_DOCUMENT, encode(codec, person));
+
+        BsonDocument documentWithNullsAndUnknownFields = BsonDocument.parse("{name: null, years: {$numberLong: '36'}, "
+                + "ignored: 'x', unknown: 1}");
+        assertEquals(BsonDocument.parse("{_t: 'sample.Person', years: 36, active: false, height: 0.0, rank: 0}"),
+                encode(codec, decode(codec, documentWithNullsAndUnknownFields)));
+    }
+
+    @Test
+    public void shouldEncodeLikePojoCodec() throws Exception {
+        ClassLoader classLoader = compile("sample.Person", PERSON_SOURCE);
+        Codec<Object> codec = getGeneratedCodec(classLoader, "sample.Person", "GeneratedPersonCodecProvider");
+        CodecRegistry pojoCodecRegistry = fromRegistries(DEFAULT_CODEC_REGISTRY,
+                fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+        @SuppressWarnings("unchecked")
+        Codec<Object> pojoCodec = (Codec<Object>) pojoCodecRegistry.get(classLoader.loadClass("sample.Person"));
+
+        Object person = decode(codec, PERSON_DOCUMENT);
+
+        assertEquals(encode(pojoCodec, person), encode(codec, person));
+        assertEquals(encode(pojoCodec, decode(pojoCodec, PERSON_DOCUMENT)), encode(codec, person));
+    }
+
+    @Test
+    public void shouldGenerateCodecForNestedRecord() throws Exception {
+        assumeTrue(SourceVersion.latestSupported().ordinal() >= 16);
+        String source = String.join("\n",
+                "package sample;",
+                "",
+                "import org.bson.codecs.pojo.annotations.BsonId;",
+                "import org.bson.codecs.pojo.annotations.BsonProperty;",
+                "import org.bson.codecs.processor.GenerateCodec;",
+                "import java.util.List;",
+                "",
+                "public class Shapes {",
+                "    @GenerateCodec",
+                "    public record Point(@BsonProperty(\"pointX\") int x, long y, @BsonId String label, List<Point> neighbours) {",
+                "    }",
+                "}");
+        ClassLoader classLoader = compile("sample.Shapes", source);
+        Codec<Object> codec = getGeneratedCodec(classLoader, "sample.Shapes$Point", "GeneratedShapes_PointCodecProvider");
+        BsonDocument document = BsonDocument.parse("{_id: 'a', pointX: 1, y: {$numberLong: '2'}, "
+                + "neighbours: [{_id: 'b', pointX: 3, y: {$numberLong: '4'}}]}");
+
+        Object point = decode(codec, document);
+
+        assertEquals("Point[x=1, y=2, label=a, neighbours=[Point[x=3, y=4, label=b, neighbours=null]]]", point.toString());
+        assertEquals(document, encode(codec, point));
+    }
+
+    @Test
+    public void shouldGenerateCodecForNamesWithControlCharacters() throws Exception {
+        String source = String.join("\n",
+                "package sample;",
+                "",
+                "import org.bson.codecs.pojo.annotations.BsonDiscriminator;",
+                "import org.bson.codecs.pojo.annotations.BsonProperty;",
+                "import org.bson.codecs.processor.GenerateCodec;",
+                "",
+                "@GenerateCodec",
+                "@BsonDiscriminator(key = \"kind\\r\\n\", value = \"line\\nfeed\")",
+                "public class Escaped {",
+                "    @BsonProperty(\"tab\\there\\001\")",
+                "    public int value;",
+                "}");
+        Codec<Object> codec = getGeneratedCodec(compile("sample.Escaped", source), "sample.Escaped", "GeneratedEscapedCodecProvider");
+        BsonDocument document = new BsonDocument("kind\r\n", new BsonString("line\nfeed"))
+                .append("tab\there\001", new BsonInt32(1));
+
+        assertEquals(document, encode(codec, decode(codec, document)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "@GenerateCodec public class Invalid<T> { }",
+            "@GenerateCodec public abstract class Invalid { }",
+            "@GenerateCodec public interface Invalid { }",
+            "@GenerateCodec public class Invalid { public Invalid(int i) { } }",
+            "public class Invalid { @GenerateCodec private static class Nested { } }",
+            "public class Invalid { @GenerateCodec public class Inner { } }",
+            "@GenerateCodec public class Invalid { @org.bson.codecs.pojo.annotations.BsonCreator public Invalid() { } }",
+            "@GenerateCodec public class Invalid { @org.bson.codecs.pojo.annotations.BsonExtraElements public org.bson.Document extra; }",
+            "@GenerateCodec public class Invalid { @org.bson.codecs.pojo.annotations.BsonProperty(\"a\") public int b; public int a; }",
+            "@GenerateCodec public class Invalid { @org.bson.codecs.pojo.annotations.BsonProperty private int a; }"
+    })
+    public void shouldReportUnsupportedTypes(final String source) throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = compileWithErrors("sample.Invalid",
+                "package sample;\nimport org.bson.codecs.processor.GenerateCodec;\n" + source);
+
+        assertEquals(1, errors.size(), errors.toString());
+        assertEquals("compiler.err.proc.messager", errors.get(0).getCode(), errors.toString());
+    }
+
+    @Test
+    public void shouldNotGenerateCodecForTypesProvidedForOtherClasses() throws Exception {
+        CodecProvider provider = (CodecProvider) compile("sample.Person", PERSON_SOURCE)
+                .loadClass("sample.GeneratedPersonCodecProvider").getDeclaredConstructor().newInstance();
+
+        assertNull(provider.get(String.class, DEFAULT_CODEC_REGISTRY));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Codec<Object> getGeneratedCodec(final ClassLoader classLoader, final String className, final String providerName)
+            throws ReflectiveOperationException {
+        CodecProvider provider = (CodecProvider) classLoader.loadClass("sample." + providerName).getDeclaredConstructor().newInstance();
+        CodecRegistry registry = fromRegistries(fromProviders(provider), DEFAULT_CODEC_REGISTRY);
+        return (Codec<Object>) registry.get(classLoader.loadClass(className));
+    }
+
+    private static Object decode(final Codec<Object> codec, final BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    private static BsonDocument encode(final Codec<Object> codec, final Object value) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), value, EncoderContext.builder().build());
+        return document;
+    }
+
+    private ClassLoader compile(final String className, final String source) throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> errors = compileWithErrors(className, source);
+        assertTrue(errors.isEmpty(), errors.toString());
+        return new URLClassLoader(new URL[] {outputDirectory.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compileWithErrors(final String className, final String source)
+            throws IOException {
+        outputDirectory = Files.createTempDirectory("codec-processor-test");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(outputDirectory.toFile()));
+            List<File> classPath = new ArrayList<>();
+            for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                classPath.add(new File(entry));
+            }
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classPath);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, asList("-Xlint:none"),
+                    null, Collections.singletonList(new StringSource(className, source)));
+            task.setProcessors(Collections.singletonList(new CodecProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .collect(Collectors.toList());
+    }
+
+    private static final class StringSource extends SimpleJavaFileObject {
+        private final String source;
+
+        StringSource(final String className, final String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
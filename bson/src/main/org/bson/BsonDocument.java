@@ -34,10 +34,10 @@ import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static java.lang.String.format;
 
@@ -97,14 +97,14 @@ public class BsonDocument extends BsonValue implements Map<String, BsonValue>, C
      * @since 4.3
      */
     public BsonDocument(final int initialCapacity) {
-        map = new LinkedHashMap<>(initialCapacity);
+        map = new CompactLinkedMap<>(initialCapacity);
     }
 
     /**
      * Construct an empty document.
      */
     public BsonDocument() {
-         map = new LinkedHashMap<>();
+         map = new CompactLinkedMap<>();
     }
 
     @Override
@@ -748,9 +748,12 @@ public class BsonDocument extends BsonValue implements Map<String, BsonValue>, C
 
     @Override
     public void putAll(final Map<? extends String, ? extends BsonValue> m) {
-        for (Map.Entry<? extends String, ? extends BsonValue> cur : m.entrySet()) {
-            put(cur.getKey(), cur.getValue());
-        }
+        m.forEach(this::put);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super BsonValue> action) {
+        map.forEach(action);
     }
 
     @Override
@@ -25,6 +25,7 @@ import java.io.ObjectInputStream;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * A {@code BsonDocument} that begins its life as a document of any type and an {@code Encoder} for that document, which lets an instance of
@@ -169,6 +170,11 @@ public final class BsonDocumentWrapper<T> extends BsonDocument {
         return getUnwrapped().entrySet();
     }
 
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super BsonValue> action) {
+        getUnwrapped().forEach(action);
+    }
+
     @Override
     public boolean equals(final Object o) {
         return getUnwrapped().equals(o);
@@ -0,0 +1,599 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An insertion-ordered map that stores its keys and values in two arrays, rather than in a node object per entry like
+ * {@link java.util.LinkedHashMap}, which makes it considerably smaller for the few fields that most documents have.
+ *
+ * <p>While the map holds at most {@value #LINEAR_SCAN_THRESHOLD} entries, keys are found by a linear scan. Larger maps also maintain an
+ * open-addressing hash index of array slots. Removing an entry leaves a tombstone in its slot, so that removal does not shift the arrays;
+ * tombstones are compacted away once they outnumber the entries, or when the arrays are full.</p>
+ *
+ * <p>Like {@code LinkedHashMap}, this class is not thread-safe, and its iterators are fail-fast.</p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+final class CompactLinkedMap<K, V> extends AbstractMap<K, V> {
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final Object[] EMPTY = {};
+    private static final Object REMOVED = new Object();
+
+    private Object[] keys;
+    private Object[] values;
+    // the number of slots in use, including those holding tombstones
+    private int used;
+    private int size;
+    // each element is either 0, for an empty bucket, or the slot of a key plus 1; null while linear scans are used
+    private int[] index;
+    private int modCount;
+
+    private Set<K> keySet;
+    private Collection<V> valueCollection;
+    private Set<Entry<K, V>> entrySet;
+
+    CompactLinkedMap() {
+        keys = EMPTY;
+        values = EMPTY;
+    }
+
+    CompactLinkedMap(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        keys = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+        values = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+    }
+
+    CompactLinkedMap(final Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int slot = 0; slot < used; slot++) {
+            if (keys[slot] != REMOVED && Objects.equals(value, values[slot])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(final K key, final V value) {
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if (used == keys.length) {
+            makeRoomForOneMore();
+        }
+        slot = used++;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        modCount++;
+        if (index != null) {
+            addToIndex(slot);
+        } else if (used > LINEAR_SCAN_THRESHOLD) {
+            rebuildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeSlot(slot);
+        if (used - size > size) {
+            compact();
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (used > 0) {
+            Arrays.fill(keys, 0, used, null);
+            Arrays.fill(values, 0, used, null);
+            used = 0;
+            size = 0;
+            index = null;
+            modCount++;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int slot = 0; slot < used; slot++) {
+            if (keys[slot] != REMOVED) {
+                action.accept((K) keys[slot], (V) values[slot]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        if (m instanceof CompactLinkedMap) {
+            CompactLinkedMap<? extends K, ? extends V> other = (CompactLinkedMap<? extends K, ? extends V>) m;
+            for (int slot = 0; slot < other.used; slot++) {
+                if (other.keys[slot] != REMOVED) {
+                    put((K) other.keys[slot], (V) other.values[slot]);
+                }
+            }
+        } else {
+            m.forEach(this::put);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> that = (Map<?, ?>) o;
+        if (that.size() != size) {
+            return false;
+        }
+        try {
+            for (int slot = 0; slot < used; slot++) {
+                Object key = keys[slot];
+                if (key == REMOVED) {
+                    continue;
+                }
+                Object value = values[slot];
+                if (value == null ? that.get(key) != null || !that.containsKey(key) : !value.equals(that.get(key))) {
+                    return false;
+                }
+            }
+        } catch (ClassCastException | NullPointerException e) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (int slot = 0; slot < used; slot++) {
+            if (keys[slot] != REMOVED) {
+                hashCode += Objects.hashCode(keys[slot]) ^ Objects.hashCode(values[slot]);
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> result = keySet;
+        if (result == null) {
+            result = new KeySet();
+            keySet = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> result = valueCollection;
+        if (result == null) {
+            result = new Values();
+            valueCollection = result;
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    private int findSlot(final Object key) {
+        if (index == null) {
+            for (int slot = 0; slot < used; slot++) {
+                Object cur = keys[slot];
+                if (cur == key || (key != null && key.equals(cur))) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int bucket = hash(key) & mask;; bucket = (bucket + 1) & mask) {
+            int slot = index[bucket] - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            Object cur = keys[slot];
+            if (cur == key || (key != null && key.equals(cur))) {
+                return slot;
+            }
+        }
+    }
+
+    private void makeRoomForOneMore() {
+        int removed = used - size;
+        if (removed > 0 && removed >= used / 2) {
+            compact();
+        } else {
+            int newCapacity = Math.max(DEFAULT_CAPACITY, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            if (index != null) {
+                rebuildIndex();
+            }
+        }
+    }
+
+    private void removeSlot(final int slot) {
+        if (index != null) {
+            removeFromIndex(slot);
+        }
+        keys[slot] = REMOVED;
+        values[slot] = null;
+        size--;
+        modCount++;
+        while (used > 0 && keys[used - 1] == REMOVED) {
+            keys[--used] = null;
+        }
+    }
+
+    private void compact() {
+        int newUsed = 0;
+        for (int slot = 0; slot < used; slot++) {
+            if (keys[slot] != REMOVED) {
+                keys[newUsed] = keys[slot];
+                values[newUsed] = values[slot];
+                newUsed++;
+            }
+        }
+        Arrays.fill(keys, newUsed, used, null);
+        Arrays.fill(values, newUsed, used, null);
+        used = newUsed;
+        if (used > LINEAR_SCAN_THRESHOLD) {
+            rebuildIndex();
+        } else {
+            index = null;
+        }
+    }
+
+    private void rebuildIndex() {
+        // at least twice the capacity of the arrays, so that the index always has empty buckets and short probe sequences
+        index = new int[Integer.highestOneBit(keys.length * 4 - 1)];
+        for (int slot = 0; slot < used; slot++) {
+            if (keys[slot] != REMOVED) {
+                addToIndex(slot);
+            }
+        }
+    }
+
+    private void addToIndex(final int slot) {
+        int mask = index.length - 1;
+        int bucket = hash(keys[slot]) & mask;
+        while (index[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        index[bucket] = slot + 1;
+    }
+
+    private void removeFromIndex(final int slot) {
+        int mask = index.length - 1;
+        int hole = hash(keys[slot]) & mask;
+        while (index[hole] != slot + 1) {
+            hole = (hole + 1) & mask;
+        }
+        // shift back any following entry of the probe sequence that may no longer be reachable past the hole
+        for (int bucket = (hole + 1) & mask; index[bucket] != 0; bucket = (bucket + 1) & mask) {
+            int home = hash(keys[index[bucket] - 1]) & mask;
+            if (((bucket - home) & mask) >= ((bucket - hole) & mask)) {
+                index[hole] = index[bucket];
+                hole = bucket;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private static int hash(final Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private int nextSlot = skipRemoved(0);
+        private int lastSlot = -1;
+        private int expectedModCount = modCount;
+
+        abstract T get(int slot);
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < used;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nextSlot >= used) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = nextSlot;
+            nextSlot = skipRemoved(nextSlot + 1);
+            return get(lastSlot);
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // unlike remove(Object), this never compacts, so that the slots of the remaining entries stay put
+            removeSlot(lastSlot);
+            lastSlot = -1;
+            expectedModCount = modCount;
+        }
+
+        private int skipRemoved(final int slot) {
+            int cur = slot;
+            while (cur < used && keys[cur] == REMOVED) {
+                cur++;
+            }
+            return cur;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return new SlotIterator<K>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                K get(final int slot) {
+                    return (K) keys[slot];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!containsKey(o)) {
+                return false;
+            }
+            CompactLinkedMap.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new SlotIterator<V>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                V get(final int slot) {
+                    return (V) values[slot];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new SlotIterator<Entry<K, V>>() {
+                @Override
+                Entry<K, V> get(final int slot) {
+                    return new SlotEntry(slot);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            int slot = findSlot(entry.getKey());
+            return slot >= 0 && Objects.equals(values[slot], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            CompactLinkedMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+
+    /**
+     * An entry that reads and writes through to the mapping of its key, like the entries of {@link java.util.LinkedHashMap}. Once the key
+     * has been removed from the map, the entry keeps the value that it last saw, and {@link #setValue(Object)} no longer writes through.
+     */
+    private final class SlotEntry implements Entry<K, V> {
+        private final K key;
+        private V value;
+        // where the key was last found; compaction and removal may move it or remove it
+        private int slot;
+
+        @SuppressWarnings("unchecked")
+        SlotEntry(final int slot) {
+            this.key = (K) keys[slot];
+            this.value = (V) values[slot];
+            this.slot = slot;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            int currentSlot = currentSlot();
+            if (currentSlot >= 0) {
+                value = (V) values[currentSlot];
+            }
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(final V value) {
+            int currentSlot = currentSlot();
+            V previous = currentSlot >= 0 ? (V) values[currentSlot] : this.value;
+            if (currentSlot >= 0) {
+                values[currentSlot] = value;
+            }
+            this.value = value;
+            return previous;
+        }
+
+        private int currentSlot() {
+            if (slot < 0 || slot >= used || keys[slot] != key) {
+                slot = findSlot(key);
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> that = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
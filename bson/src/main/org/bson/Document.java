@@ -36,6 +36,10 @@ import org.bson.json.JsonWriter;
 import org.bson.json.JsonWriterSettings;
 import org.bson.types.ObjectId;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.util.Collection;
@@ -45,6 +49,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -69,16 +74,21 @@ public class Document implements Map<String, Object>, Serializable, Bson {
 
     private static final long serialVersionUID = 6297731997167536582L;
 
+    /**
+     * Serialized as a {@code LinkedHashMap}, which was the type of {@link #documentAsMap} before it was made more compact.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("documentAsMap", LinkedHashMap.class)};
+
     /**
      * The map of keys to values.
      */
-    private final LinkedHashMap<String, Object> documentAsMap;
+    private transient Map<String, Object> documentAsMap;
 
     /**
      * Creates an empty Document instance.
      */
     public Document() {
-        documentAsMap = new LinkedHashMap<>();
+        documentAsMap = new CompactLinkedMap<>();
     }
 
     /**
@@ -88,7 +98,7 @@ public class Document implements Map<String, Object>, Serializable, Bson {
      * @param value value
      */
     public Document(final String key, final Object value) {
-        documentAsMap = new LinkedHashMap<>();
+        documentAsMap = new CompactLinkedMap<>();
         documentAsMap.put(key, value);
     }
 
@@ -98,7 +108,7 @@ public class Document implements Map<String, Object>, Serializable, Bson {
      * @param map initial map
      */
     public Document(final Map<String, ?> map) {
-        documentAsMap = new LinkedHashMap<>(map);
+        documentAsMap = new CompactLinkedMap<>(map);
     }
 
 
@@ -520,6 +530,11 @@ public class Document implements Map<String, Object>, Serializable, Bson {
         return documentAsMap.entrySet();
     }
 
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        documentAsMap.forEach(action);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -549,4 +564,14 @@ public class Document implements Map<String, Object>, Serializable, Bson {
                + documentAsMap
                + '}';
     }
+
+    private void writeObject(final ObjectOutputStream stream) throws IOException {
+        stream.putFields().put("documentAsMap", new LinkedHashMap<>(documentAsMap));
+        stream.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        documentAsMap = new CompactLinkedMap<>((Map<String, Object>) stream.readFields().get("documentAsMap", null));
+    }
 }
@@ -35,10 +35,13 @@ import java.io.Serializable;
 import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static org.bson.assertions.Assertions.isTrueArgument;
 import static org.bson.assertions.Assertions.notNull;
@@ -67,6 +70,11 @@ public final class RawBsonDocument extends BsonDocument {
      */
     private final int length;
 
+    /**
+     * The offsets of the elements, which is built on the first lookup by key so that later lookups do not have to skip over values.
+     */
+    private transient ElementIndex elementIndex;
+
     /**
      * Parses a string in MongoDB Extended JSON format to a {@code RawBsonDocument}
      *
@@ -238,6 +246,11 @@ public final class RawBsonDocument extends BsonDocument {
         return toBaseBsonDocument().keySet();
     }
 
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super BsonValue> action) {
+        toBaseBsonDocument().forEach(action);
+    }
+
     @Override
     public String getFirstKey() {
         try (BsonBinaryReader bsonReader = createReader()) {
@@ -256,18 +269,7 @@ public final class RawBsonDocument extends BsonDocument {
             throw new IllegalArgumentException("key can not be null");
         }
 
-        try (BsonBinaryReader bsonReader = createReader()) {
-            bsonReader.readStartDocument();
-            while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-                if (bsonReader.readName().equals(key)) {
-                    return true;
-                }
-                bsonReader.skipValue();
-            }
-            bsonReader.readEndDocument();
-        }
-
-        return false;
+        return key instanceof String && getElementIndex().find((String) key) >= 0;
     }
 
     @Override
@@ -290,18 +292,20 @@ public final class RawBsonDocument extends BsonDocument {
     public BsonValue get(final Object key) {
         notNull("key", key);
 
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int elementOffset = getElementIndex().find((String) key);
+        if (elementOffset < 0) {
+            return null;
+        }
         try (BsonBinaryReader bsonReader = createReader()) {
             bsonReader.readStartDocument();
-            while (bsonReader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-                if (bsonReader.readName().equals(key)) {
-                    return RawBsonValueHelper.decode(bytes, bsonReader);
-                }
-                bsonReader.skipValue();
-            }
-            bsonReader.readEndDocument();
+            bsonReader.getBsonInput().skip(elementOffset - bsonReader.getBsonInput().getPosition());
+            bsonReader.readBsonType();
+            bsonReader.skipName();
+            return RawBsonValueHelper.decode(bytes, bsonReader);
         }
-
-        return null;
     }
 
     @Override
@@ -335,6 +339,100 @@ public final class RawBsonDocument extends BsonDocument {
         return new BsonBinaryReader(new ByteBufferBsonInput(getByteBuffer()));
     }
 
+    private ElementIndex getElementIndex() {
+        // racy but safe, as the index is immutable, and any thread that builds it builds an equal one
+        ElementIndex index = elementIndex;
+        if (index == null) {
+            index = new ElementIndex();
+            elementIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * The offset in {@link #bytes} of each element, together with a hash of its UTF-8 encoded name, which for an ASCII name is equal to
+     * the {@link String#hashCode()} of the name.
+     */
+    private final class ElementIndex {
+        private final int[] elementOffsets;
+        private final int[] nameHashes;
+        private final int size;
+
+        ElementIndex() {
+            int[] offsets = new int[8];
+            int count = 0;
+            try (BsonBinaryReader bsonReader = createReader()) {
+                bsonReader.readStartDocument();
+                while (true) {
+                    int elementOffset = bsonReader.getBsonInput().getPosition();
+                    if (bsonReader.readBsonType() == BsonType.END_OF_DOCUMENT) {
+                        break;
+                    }
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count++] = elementOffset;
+                    bsonReader.skipName();
+                    bsonReader.skipValue();
+                }
+                bsonReader.readEndDocument();
+            }
+            elementOffsets = offsets;
+            nameHashes = new int[count];
+            for (int i = 0; i < count; i++) {
+                int hash = 0;
+                for (int cur = elementOffsets[i] + 1; bytes[cur] != 0; cur++) {
+                    hash = 31 * hash + bytes[cur];
+                }
+                nameHashes[i] = hash;
+            }
+            size = count;
+        }
+
+        /**
+         * Returns the offset of the element with the given name, or -1 if there is none.
+         */
+        int find(final String name) {
+            byte[] nameBytes = isAsciiWithoutNulls(name) ? null : name.getBytes(StandardCharsets.UTF_8);
+            int hash = nameBytes == null ? name.hashCode() : hash(nameBytes);
+            for (int i = 0; i < size; i++) {
+                if (nameHashes[i] == hash && nameEquals(elementOffsets[i] + 1, name, nameBytes)) {
+                    return elementOffsets[i];
+                }
+            }
+            return -1;
+        }
+
+        private boolean nameEquals(final int nameOffset, final String name, final byte[] nameBytes) {
+            int nameLength = nameBytes == null ? name.length() : nameBytes.length;
+            for (int i = 0; i < nameLength; i++) {
+                byte cur = bytes[nameOffset + i];
+                if (cur == 0 || cur != (nameBytes == null ? name.charAt(i) : nameBytes[i])) {
+                    return false;
+                }
+            }
+            return bytes[nameOffset + nameLength] == 0;
+        }
+    }
+
+    private static boolean isAsciiWithoutNulls(final String string) {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == 0 || c >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(final byte[] bytes) {
+        int hash = 0;
+        for (byte cur : bytes) {
+            hash = 31 * hash + cur;
+        }
+        return hash;
+    }
+
     // Transform to an org.bson.BsonDocument instance
     private BsonDocument toBaseBsonDocument() {
         try (BsonBinaryReader bsonReader = createReader()) {
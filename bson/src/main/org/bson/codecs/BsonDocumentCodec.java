@@ -28,7 +28,6 @@ import org.bson.types.ObjectId;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import static org.bson.assertions.Assertions.notNull;
 import static org.bson.codecs.BsonValueCodecProvider.getBsonTypeClassMap;
@@ -109,14 +108,13 @@ public class BsonDocumentCodec implements CollectibleCodec<BsonDocument> {
         writer.writeStartDocument();
 
         beforeFields(writer, encoderContext, value);
-        for (Map.Entry<String, BsonValue> entry : value.entrySet()) {
-            if (skipField(encoderContext, entry.getKey())) {
-                continue;
+        // iterate with forEach, which unlike entrySet does not create an entry per field
+        value.forEach((key, fieldValue) -> {
+            if (!skipField(encoderContext, key)) {
+                writer.writeName(key);
+                writeValue(writer, encoderContext, fieldValue);
             }
-
-            writer.writeName(entry.getKey());
-            writeValue(writer, encoderContext, entry.getValue());
-        }
+        });
 
         writer.writeEndDocument();
     }
@@ -117,6 +117,19 @@ public class DocumentCodec implements CollectibleCodec<Document>, OverridableUui
         return new DocumentCodec(registry, bsonTypeCodecMap, idGenerator, valueTransformer, uuidRepresentation);
     }
 
+    /**
+     * Returns a new instance that generates the ids of documents that do not have one with the given generator, rather than with an
+     * {@link ObjectIdGenerator}.
+     *
+     * @param idGenerator the id generator, which must be thread-safe
+     * @return a new instance equivalent to this but with the given id generator
+     * @see org.bson.types.BatchingObjectIdGenerator
+     * @since 5.2
+     */
+    public DocumentCodec withIdGenerator(final IdGenerator idGenerator) {
+        return new DocumentCodec(registry, bsonTypeCodecMap, notNull("idGenerator", idGenerator), valueTransformer, uuidRepresentation);
+    }
+
     @Override
     public boolean documentHasId(final Document document) {
         return document.containsKey(ID_FIELD_NAME);
@@ -156,13 +169,13 @@ public class DocumentCodec implements CollectibleCodec<Document>, OverridableUui
 
         beforeFields(writer, encoderContext, document);
 
-        for (final Map.Entry<String, Object> entry : ((Map<String, Object>) document).entrySet()) {
-            if (skipField(encoderContext, entry.getKey())) {
-                continue;
+        // iterate with forEach, which unlike entrySet does not create an entry per field
+        document.forEach((key, value) -> {
+            if (!skipField(encoderContext, key)) {
+                writer.writeName(key);
+                writeValue(writer, encoderContext, value);
             }
-            writer.writeName(entry.getKey());
-            writeValue(writer, encoderContext, entry.getValue());
-        }
+        });
         writer.writeEndDocument();
     }
 
@@ -21,21 +21,33 @@ import org.bson.codecs.pojo.annotations.BsonId;
 import org.bson.codecs.pojo.annotations.BsonProperty;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableMap;
 
 final class CreatorExecutable<T> {
+    private static final MethodType CREATOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_PARAMS = new Object[0];
+
     private final Class<T> clazz;
     private final Constructor<T> constructor;
     private final Method method;
     private final List<BsonProperty> properties = new ArrayList<>();
     private final Integer idPropertyIndex;
+    private final Map<String, Integer> propertyIndexes;
+    // takes the arguments as an array, and is null if the creator is not accessible from here, in which case reflection is used
+    private final MethodHandle creatorHandle;
     private final List<Class<?>> parameterTypes = new ArrayList<>();
     private final List<Type> parameterGenericTypes = new ArrayList<>();
 
@@ -80,6 +92,8 @@ final class CreatorExecutable<T> {
         }
 
         this.idPropertyIndex = idPropertyIndex;
+        this.propertyIndexes = createPropertyIndexes();
+        this.creatorHandle = createCreatorHandle();
     }
 
     Class<T> getType() {
@@ -94,6 +108,13 @@ final class CreatorExecutable<T> {
         return idPropertyIndex;
     }
 
+    /**
+     * Returns the index of each creator parameter, keyed by the name of its property.
+     */
+    Map<String, Integer> getPropertyIndexes() {
+        return propertyIndexes;
+    }
+
     List<Class<?>> getParameterTypes() {
         return parameterTypes;
     }
@@ -105,6 +126,9 @@ final class CreatorExecutable<T> {
     @SuppressWarnings("unchecked")
     T getInstance() {
         checkHasAnExecutable();
+        if (creatorHandle != null) {
+            return getInstance(NO_PARAMS);
+        }
         try {
             if (constructor != null) {
                 return constructor.newInstance();
@@ -119,6 +143,15 @@ final class CreatorExecutable<T> {
     @SuppressWarnings("unchecked")
     T getInstance(final Object[] params) {
         checkHasAnExecutable();
+        if (creatorHandle != null) {
+            try {
+                return (T) creatorHandle.invokeExact(params);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new CodecConfigurationException(t.getMessage(), t);
+            }
+        }
         try {
             if (constructor != null) {
                 return constructor.newInstance(params);
@@ -135,6 +168,31 @@ final class CreatorExecutable<T> {
         return getError(clazz, constructor != null, msg);
     }
 
+    private Map<String, Integer> createPropertyIndexes() {
+        Map<String, Integer> propertyIndexes = new HashMap<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (idPropertyIndex != null && idPropertyIndex == i) {
+                propertyIndexes.put(ClassModelBuilder.ID_PROPERTY_NAME, idPropertyIndex);
+            } else {
+                propertyIndexes.put(properties.get(i).value(), i);
+            }
+        }
+        return unmodifiableMap(propertyIndexes);
+    }
+
+    private MethodHandle createCreatorHandle() {
+        if ((constructor == null && method == null) || properties.size() != parameterTypes.size()) {
+            return null;
+        }
+        try {
+            MethodHandle handle = constructor != null ? MethodHandles.lookup().unreflectConstructor(constructor)
+                    : MethodHandles.lookup().unreflect(method);
+            return handle.asFixedArity().asSpreader(Object[].class, parameterTypes.size()).asType(CREATOR_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
     private void checkHasAnExecutable() {
         if (constructor == null && method == null) {
             throw new CodecConfigurationException(format("Cannot find a public constructor for '%s'.  Please ensure "
@@ -17,10 +17,14 @@ package org.bson.codecs.pojo;
 
 import org.bson.codecs.configuration.CodecConfigurationException;
 
+import java.lang.invoke.MethodHandle;
+
 import static java.lang.String.format;
 
 final class FieldPropertyAccessor<T> implements PropertyAccessor<T> {
     private final PropertyAccessorImpl<T> wrapped;
+    // null if the field is final and the runtime does not allow a method handle to set it, in which case reflection is used
+    private final MethodHandle setterHandle;
 
     FieldPropertyAccessor(final PropertyAccessorImpl<T> wrapped) {
         this.wrapped = wrapped;
@@ -30,6 +34,7 @@ final class FieldPropertyAccessor<T> implements PropertyAccessor<T> {
             throw new CodecConfigurationException(format("Unable to make field accessible '%s' in %s",
                     wrapped.getPropertyMetadata().getName(), wrapped.getPropertyMetadata().getDeclaringClassName()), e);
         }
+        this.setterHandle = PropertyAccessorImpl.createFieldSetterHandle(wrapped.getPropertyMetadata().getField());
     }
 
     @Override
@@ -40,8 +45,14 @@ final class FieldPropertyAccessor<T> implements PropertyAccessor<T> {
     @Override
     public <S> void set(final S instance, final T value) {
         try {
-            wrapped.getPropertyMetadata().getField().set(instance, value);
-        } catch (Exception e) {
+            if (setterHandle != null) {
+                setterHandle.invokeExact((Object) instance, (Object) value);
+            } else {
+                wrapped.getPropertyMetadata().getField().set(instance, value);
+            }
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new CodecConfigurationException(format("Unable to set value for property '%s' in %s",
                     wrapped.getPropertyMetadata().getName(), wrapped.getPropertyMetadata().getDeclaringClassName()), e);
         }
@@ -18,7 +18,9 @@ package org.bson.codecs.pojo;
 
 import org.bson.codecs.configuration.CodecConfigurationException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.lang.String.format;
@@ -26,8 +28,11 @@ import static java.lang.String.format;
 final class InstanceCreatorImpl<T> implements InstanceCreator<T> {
     private final CreatorExecutable<T> creatorExecutable;
     private final Map<PropertyModel<?>, Object> cachedValues;
+    // shared by all the instance creators for the creator executable, so must not be modified
     private final Map<String, Integer> properties;
     private final Object[] params;
+    private final boolean[] paramsSet;
+    private int remainingParams;
 
     private T newInstance;
 
@@ -37,20 +42,14 @@ final class InstanceCreatorImpl<T> implements InstanceCreator<T> {
             this.cachedValues = null;
             this.properties = null;
             this.params = null;
+            this.paramsSet = null;
             this.newInstance = creatorExecutable.getInstance();
         } else {
             this.cachedValues = new HashMap<>();
-            this.properties = new HashMap<>();
-
-            for (int i = 0; i < creatorExecutable.getProperties().size(); i++) {
-                if (creatorExecutable.getIdPropertyIndex() != null && creatorExecutable.getIdPropertyIndex() == i) {
-                    this.properties.put(ClassModelBuilder.ID_PROPERTY_NAME, creatorExecutable.getIdPropertyIndex());
-                } else {
-                    this.properties.put(creatorExecutable.getProperties().get(i).value(), i);
-                }
-            }
-
+            this.properties = creatorExecutable.getPropertyIndexes();
             this.params = new Object[properties.size()];
+            this.paramsSet = new boolean[properties.size()];
+            this.remainingParams = properties.size();
         }
     }
 
@@ -59,22 +58,21 @@ final class InstanceCreatorImpl<T> implements InstanceCreator<T> {
         if (newInstance != null) {
             propertyModel.getPropertyAccessor().set(newInstance, value);
         } else {
-            if (!properties.isEmpty()) {
-                String propertyName = propertyModel.getWriteName();
-
-                if (!properties.containsKey(propertyName)) {
+            if (remainingParams > 0) {
+                Integer index = getUnsetParamIndex(propertyModel.getWriteName());
+                if (index == null) {
                     // Support legacy BsonProperty settings where the property name was used instead of the write name.
-                    propertyName = propertyModel.getName();
+                    index = getUnsetParamIndex(propertyModel.getName());
                 }
 
-                Integer index = properties.get(propertyName);
                 if (index != null) {
                     params[index] = value;
+                    paramsSet[index] = true;
+                    remainingParams--;
                 }
-                properties.remove(propertyName);
             }
 
-            if (properties.isEmpty()) {
+            if (remainingParams == 0) {
                 constructInstanceAndProcessCachedValues();
             } else {
                 cachedValues.put(propertyModel, value);
@@ -86,19 +84,31 @@ final class InstanceCreatorImpl<T> implements InstanceCreator<T> {
     public T getInstance() {
         if (newInstance == null) {
             try {
-                for (Map.Entry<String, Integer> entry : properties.entrySet()) {
-                    params[entry.getValue()] = null;
-                }
                 constructInstanceAndProcessCachedValues();
             } catch (CodecConfigurationException e) {
                 throw new CodecConfigurationException(format("Could not construct new instance of: %s. "
                                 + "Missing the following properties: %s",
-                        creatorExecutable.getType().getSimpleName(), properties.keySet()), e);
+                        creatorExecutable.getType().getSimpleName(), getUnsetPropertyNames()), e);
             }
         }
         return newInstance;
     }
 
+    private Integer getUnsetParamIndex(final String propertyName) {
+        Integer index = properties.get(propertyName);
+        return index == null || paramsSet[index] ? null : index;
+    }
+
+    private List<String> getUnsetPropertyNames() {
+        List<String> unsetPropertyNames = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : properties.entrySet()) {
+            if (!paramsSet[entry.getValue()]) {
+                unsetPropertyNames.add(entry.getKey());
+            }
+        }
+        return unsetPropertyNames;
+    }
+
     private void constructInstanceAndProcessCachedValues() {
         try {
             newInstance = creatorExecutable.getInstance(params);
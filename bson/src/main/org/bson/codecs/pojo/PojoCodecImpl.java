@@ -36,6 +36,7 @@ import org.bson.diagnostics.Loggers;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -50,6 +51,8 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
     private final CodecRegistry registry;
     private final PropertyCodecRegistry propertyCodecRegistry;
     private final DiscriminatorLookup discriminatorLookup;
+    private final Map<String, PropertyModel<?>> propertyModelsByWriteName;
+    private final PropertyModel<?> inlineElementsPropertyModel;
 
     PojoCodecImpl(final ClassModel<T> classModel, final CodecRegistry codecRegistry,
             final List<PropertyCodecProvider> propertyCodecProviders, final DiscriminatorLookup discriminatorLookup) {
@@ -57,6 +60,8 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
         this.registry = codecRegistry;
         this.discriminatorLookup = discriminatorLookup;
         this.propertyCodecRegistry = new PropertyCodecRegistryImpl(this, registry, propertyCodecProviders);
+        this.propertyModelsByWriteName = getPropertyModelsByWriteName(classModel);
+        this.inlineElementsPropertyModel = getInlineElementsPropertyModel(classModel);
         specialize();
     }
 
@@ -66,6 +71,8 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
         this.registry = codecRegistry;
         this.discriminatorLookup = discriminatorLookup;
         this.propertyCodecRegistry = propertyCodecRegistry;
+        this.propertyModelsByWriteName = getPropertyModelsByWriteName(classModel);
+        this.inlineElementsPropertyModel = getInlineElementsPropertyModel(classModel);
         specialize();
     }
 
@@ -175,12 +182,6 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
     }
 
     private void decodeProperties(final BsonReader reader, final DecoderContext decoderContext, final InstanceCreator<T> instanceCreator) {
-        PropertyModel<?> inlineElementsPropertyModel = classModel.getPropertyModels()
-                .stream()
-                .filter(p -> p.getPropertySerialization().inline())
-                .findFirst()
-                .orElse(null);
-
         BsonDocument extraElements = inlineElementsPropertyModel  == null ? null : new BsonDocument();
         reader.readStartDocument();
         while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
@@ -188,7 +189,7 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
             if (classModel.useDiscriminator() && classModel.getDiscriminatorKey().equals(name)) {
                 reader.readString();
             } else {
-                decodePropertyModel(reader, decoderContext, instanceCreator, name, getPropertyModelByWriteName(classModel, name), extraElements);
+                decodePropertyModel(reader, decoderContext, instanceCreator, name, propertyModelsByWriteName.get(name), extraElements);
             }
         }
         reader.readEndDocument();
@@ -305,13 +306,23 @@ final class PojoCodecImpl<T> extends PojoCodec<T> {
         return codec;
     }
 
-    private PropertyModel<?> getPropertyModelByWriteName(final ClassModel<T> classModel, final String readName) {
+    private static Map<String, PropertyModel<?>> getPropertyModelsByWriteName(final ClassModel<?> classModel) {
+        Map<String, PropertyModel<?>> propertyModelsByWriteName = new HashMap<>();
         for (PropertyModel<?> propertyModel : classModel.getPropertyModels()) {
-            if (propertyModel.isWritable() && propertyModel.getWriteName().equals(readName)) {
-                return propertyModel;
+            if (propertyModel.isWritable()) {
+                propertyModelsByWriteName.putIfAbsent(propertyModel.getWriteName(), propertyModel);
             }
         }
-        return null;
+        return propertyModelsByWriteName;
+    }
+
+    @Nullable
+    private static PropertyModel<?> getInlineElementsPropertyModel(final ClassModel<?> classModel) {
+        return classModel.getPropertyModels()
+                .stream()
+                .filter(p -> p.getPropertySerialization().inline())
+                .findFirst()
+                .orElse(null);
     }
 
     @Override
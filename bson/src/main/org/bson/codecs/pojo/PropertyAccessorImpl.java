@@ -18,19 +18,42 @@ package org.bson.codecs.pojo;
 
 import org.bson.codecs.configuration.CodecConfigurationException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
 import static java.lang.String.format;
 
 final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
 
     private final PropertyMetadata<T> propertyMetadata;
+    // bound once, so that getting and setting a property does not go through reflection each time; null when the getter, setter or
+    // field is not accessible from here, in which case reflection is used, and reports the failure when the property is accessed
+    private final MethodHandle getterHandle;
+    private final MethodHandle setterHandle;
 
     PropertyAccessorImpl(final PropertyMetadata<T> propertyMetadata) {
         this.propertyMetadata = propertyMetadata;
+        this.getterHandle = propertyMetadata.isSerializable() ? createGetterHandle(propertyMetadata) : null;
+        this.setterHandle = propertyMetadata.isDeserializable() ? createSetterHandle(propertyMetadata) : null;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <S> T get(final S instance) {
+        if (getterHandle != null) {
+            try {
+                return (T) getterHandle.invokeExact((Object) instance);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw getError(t);
+            }
+        }
         try {
             if (propertyMetadata.isSerializable()) {
                 if (propertyMetadata.getGetter() != null) {
@@ -48,6 +71,16 @@ final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
 
     @Override
     public <S> void set(final S instance, final T value) {
+        if (setterHandle != null) {
+            try {
+                setterHandle.invokeExact((Object) instance, (Object) value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw setError(t);
+            }
+            return;
+        }
         try {
             if (propertyMetadata.isDeserializable()) {
                 if (propertyMetadata.getSetter() != null) {
@@ -65,12 +98,41 @@ final class PropertyAccessorImpl<T> implements PropertyAccessor<T> {
         return propertyMetadata;
     }
 
-    private CodecConfigurationException getError(final Exception cause) {
+    static MethodHandle createFieldSetterHandle(final Field field) {
+        try {
+            return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle createGetterHandle(final PropertyMetadata<?> propertyMetadata) {
+        try {
+            MethodHandle handle = propertyMetadata.getGetter() != null ? LOOKUP.unreflect(propertyMetadata.getGetter())
+                    : LOOKUP.unreflectGetter(propertyMetadata.getField());
+            return handle.asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle createSetterHandle(final PropertyMetadata<?> propertyMetadata) {
+        if (propertyMetadata.getSetter() == null) {
+            return createFieldSetterHandle(propertyMetadata.getField());
+        }
+        try {
+            return LOOKUP.unreflect(propertyMetadata.getSetter()).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private CodecConfigurationException getError(final Throwable cause) {
         return new CodecConfigurationException(format("Unable to get value for property '%s' in %s", propertyMetadata.getName(),
                 propertyMetadata.getDeclaringClassName()), cause);
     }
 
-    private CodecConfigurationException setError(final Exception cause) {
+    private CodecConfigurationException setError(final Throwable cause) {
         return new CodecConfigurationException(format("Unable to set value for property '%s' in %s", propertyMetadata.getName(),
                 propertyMetadata.getDeclaringClassName()), cause);
     }
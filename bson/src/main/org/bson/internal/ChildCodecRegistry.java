@@ -64,18 +64,26 @@ class ChildCodecRegistry<T> implements CodecRegistry {
     public <U> Codec<U> get(final Class<U> clazz) {
         if (hasCycles(clazz)) {
             return new LazyCodec<>(registry, clazz, null);
-        } else {
-            return registry.get(new ChildCodecRegistry<>(this, clazz, null));
         }
+        Codec<U> codec = registry.getCachedCodec(clazz, null);
+        return codec != null ? codec : registry.get(new ChildCodecRegistry<>(this, clazz, null));
     }
 
     @Override
     public <U> Codec<U> get(final Class<U> clazz, final List<Type> typeArguments) {
         notNull("typeArguments", typeArguments);
+        boolean hasCycles = hasCycles(clazz);
+        if (!hasCycles) {
+            // Only codecs for valid type arguments are ever cached, so a cache hit can skip the validation below
+            Codec<U> codec = registry.getCachedCodec(clazz, typeArguments);
+            if (codec != null) {
+                return codec;
+            }
+        }
         isTrueArgument(format("typeArguments size should equal the number of type parameters in class %s, but is %d",
                         clazz, typeArguments.size()),
                 clazz.getTypeParameters().length == typeArguments.size());
-        if (hasCycles(clazz)) {
+        if (hasCycles) {
             return new LazyCodec<>(registry, clazz, typeArguments);
         } else {
             return registry.get(new ChildCodecRegistry<>(this, clazz, typeArguments));
@@ -92,7 +100,7 @@ class ChildCodecRegistry<T> implements CodecRegistry {
         return this.registry.get(clazz, typeArguments, registry);
     }
 
-    private <U> Boolean hasCycles(final Class<U> theClass) {
+    private <U> boolean hasCycles(final Class<U> theClass) {
         ChildCodecRegistry<?> current = this;
         while (current != null) {
             if (current.codecClass.equals(theClass)) {
@@ -19,6 +19,7 @@ package org.bson.internal;
 import org.bson.codecs.Codec;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -64,18 +65,48 @@ final class CodecCache {
         }
     }
 
-    private final ConcurrentMap<CodecCacheKey, Codec<?>> codecCache = new ConcurrentHashMap<>();
+    // Codecs for classes without type arguments are looked up by class alone, and codecs for parameterized types by class and then by the
+    // caller's list of type arguments, so that a cache hit allocates nothing
+    private final ConcurrentMap<Class<?>, Codec<?>> codecs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ConcurrentMap<List<Type>, Codec<?>>> parameterizedCodecs = new ConcurrentHashMap<>();
 
     public <T> Codec<T> putIfAbsent(final CodecCacheKey codecCacheKey, final Codec<T> codec) {
-        assertNotNull(codec);
         @SuppressWarnings("unchecked")
-        Codec<T> prevCodec = (Codec<T>) codecCache.putIfAbsent(codecCacheKey, codec);
-        return prevCodec == null ? codec : prevCodec;
+        Class<T> clazz = (Class<T>) codecCacheKey.clazz;
+        return putIfAbsent(clazz, codecCacheKey.types, codec);
     }
 
     public <T> Optional<Codec<T>> get(final CodecCacheKey codecCacheKey) {
         @SuppressWarnings("unchecked")
-        Codec<T> codec = (Codec<T>) codecCache.get(codecCacheKey);
-        return Optional.ofNullable(codec);
+        Class<T> clazz = (Class<T>) codecCacheKey.clazz;
+        return Optional.ofNullable(get(clazz, codecCacheKey.types));
+    }
+
+    <T> Codec<T> putIfAbsent(final Class<T> clazz, final List<Type> types, final Codec<T> codec) {
+        assertNotNull(codec);
+        Codec<?> prevCodec;
+        if (types == null) {
+            prevCodec = codecs.putIfAbsent(clazz, codec);
+        } else {
+            prevCodec = parameterizedCodecs.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>())
+                    .putIfAbsent(new ArrayList<>(types), codec);
+        }
+        @SuppressWarnings("unchecked")
+        Codec<T> result = (Codec<T>) (prevCodec == null ? codec : prevCodec);
+        return result;
+    }
+
+    // Returns null if no codec is cached
+    <T> Codec<T> get(final Class<T> clazz, final List<Type> types) {
+        Codec<?> codec;
+        if (types == null) {
+            codec = codecs.get(clazz);
+        } else {
+            ConcurrentMap<List<Type>, Codec<?>> codecsByTypes = parameterizedCodecs.get(clazz);
+            codec = codecsByTypes == null ? null : codecsByTypes.get(types);
+        }
+        @SuppressWarnings("unchecked")
+        Codec<T> result = (Codec<T>) codec;
+        return result;
     }
 }
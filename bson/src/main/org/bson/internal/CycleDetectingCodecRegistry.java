@@ -19,6 +19,9 @@ package org.bson.internal;
 import org.bson.codecs.Codec;
 import org.bson.codecs.configuration.CodecRegistry;
 
+import java.lang.reflect.Type;
+import java.util.List;
+
 /**
  * A marker interface for {@code CodecRegistry} implementations that are able to detect cycles.
  *
@@ -33,4 +36,14 @@ interface CycleDetectingCodecRegistry extends CodecRegistry {
      * @return the Codec
      */
     <T> Codec<T> get(ChildCodecRegistry<T> context);
+
+    /**
+     * Get the Codec for the given class and type arguments if it has already been created, without creating it.
+     *
+     * @param clazz the class
+     * @param typeArguments the type arguments, or null if the Codec is requested without type arguments
+     * @param <T> the value type
+     * @return the Codec, or null if it has not been created yet
+     */
+    <T> Codec<T> getCachedCodec(Class<T> clazz, List<Type> typeArguments);
 }
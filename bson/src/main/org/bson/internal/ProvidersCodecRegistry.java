@@ -46,12 +46,18 @@ public final class ProvidersCodecRegistry implements CycleDetectingCodecRegistry
 
     @Override
     public <T> Codec<T> get(final Class<T> clazz) {
-        return get(new ChildCodecRegistry<>(this, clazz, null));
+        Codec<T> codec = codecCache.get(clazz, null);
+        return codec != null ? codec : get(new ChildCodecRegistry<>(this, clazz, null));
     }
 
     @Override
     public <T> Codec<T> get(final Class<T> clazz, final List<Type> typeArguments) {
         notNull("typeArguments", typeArguments);
+        // A cached codec was validated when it was first requested, and getTypeParameters() copies an array on every call
+        Codec<T> codec = codecCache.get(clazz, typeArguments);
+        if (codec != null) {
+            return codec;
+        }
         isTrueArgument(format("typeArguments size should equal the number of type parameters in class %s, but is %d",
                         clazz, typeArguments.size()),
                 clazz.getTypeParameters().length == typeArguments.size());
@@ -75,16 +81,24 @@ public final class ProvidersCodecRegistry implements CycleDetectingCodecRegistry
     }
 
     public <T> Codec<T> get(final ChildCodecRegistry<T> context) {
-        CodecCacheKey codecCacheKey = new CodecCacheKey(context.getCodecClass(), context.getTypes().orElse(null));
-        return codecCache.<T>get(codecCacheKey).orElseGet(() -> {
-            for (CodecProvider provider : codecProviders) {
-                Codec<T> codec = provider.get(context.getCodecClass(), context.getTypes().orElse(emptyList()), context);
-                if (codec != null) {
-                    return codecCache.putIfAbsent(codecCacheKey, codec);
-                }
+        Class<T> clazz = context.getCodecClass();
+        List<Type> types = context.getTypes().orElse(null);
+        Codec<T> cachedCodec = codecCache.get(clazz, types);
+        if (cachedCodec != null) {
+            return cachedCodec;
+        }
+        for (CodecProvider provider : codecProviders) {
+            Codec<T> codec = provider.get(clazz, types == null ? emptyList() : types, context);
+            if (codec != null) {
+                return codecCache.putIfAbsent(clazz, types, codec);
             }
-            throw new CodecConfigurationException(format("Can't find a codec for %s.", codecCacheKey));
-        });
+        }
+        throw new CodecConfigurationException(format("Can't find a codec for %s.", new CodecCacheKey(clazz, types)));
+    }
+
+    @Override
+    public <T> Codec<T> getCachedCodec(final Class<T> clazz, final List<Type> typeArguments) {
+        return codecCache.get(clazz, typeArguments);
     }
 
     @Override
@@ -18,8 +18,10 @@ package org.bson.io;
 
 import org.bson.BsonSerializationException;
 import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
 import org.bson.types.ObjectId;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
@@ -33,6 +35,9 @@ import static java.lang.String.format;
 public class ByteBufferBsonInput implements BsonInput {
 
     private static final String[] ONE_BYTE_ASCII_STRINGS = new String[Byte.MAX_VALUE + 1];
+    private static final int FIELD_NAME_CACHE_SIZE = 128;
+    private static final int MAX_CACHED_FIELD_NAME_LENGTH = 64;
+    private static final int MAX_SCRATCH_BUFFER_SIZE = 1 << 10;
 
     static {
         for (int b = 0; b < ONE_BYTE_ASCII_STRINGS.length; b++) {
@@ -41,6 +46,12 @@ public class ByteBufferBsonInput implements BsonInput {
     }
 
     private ByteBuf buffer;
+    private final String[] fieldNameCache;
+    // the array backing the buffer if it is heap-backed, so that strings can be decoded from it in place
+    private byte[] bufferArray;
+    private final int bufferArrayOffset;
+    // reused to copy strings out of buffers that are not heap-backed
+    private byte[] scratchBuffer;
 
     /**
      * Construct an instance with the given byte buffer.  The stream takes over ownership of the buffer and closes it when this instance is
@@ -49,10 +60,34 @@ public class ByteBufferBsonInput implements BsonInput {
      * @param buffer the byte buffer
      */
     public ByteBufferBsonInput(final ByteBuf buffer) {
+        this(buffer, false);
+    }
+
+    /**
+     * Construct an instance with the given byte buffer.  The stream takes over ownership of the buffer and closes it when this instance is
+     * closed.
+     *
+     * <p>If {@code cacheFieldNames} is true, short ASCII C strings, such as field names, are kept in a small fixed-size cache owned by
+     * this instance, and reading a C string equal to a cached one returns the cached {@code String} instead of allocating a new one.
+     * This reduces garbage when the buffer holds many documents with the same field names, like a batch of query results.</p>
+     *
+     * @param buffer the byte buffer
+     * @param cacheFieldNames whether to cache the C strings read from the buffer
+     * @since 5.2
+     */
+    public ByteBufferBsonInput(final ByteBuf buffer, final boolean cacheFieldNames) {
         if (buffer == null) {
             throw new IllegalArgumentException("buffer can not be null");
         }
         this.buffer = buffer;
+        this.fieldNameCache = cacheFieldNames ? new String[FIELD_NAME_CACHE_SIZE] : null;
+        ByteBuffer nioBuffer = buffer instanceof ByteBufNIO ? buffer.asNIO() : null;
+        if (nioBuffer != null && nioBuffer.hasArray()) {
+            this.bufferArray = nioBuffer.array();
+            this.bufferArrayOffset = nioBuffer.arrayOffset();
+        } else {
+            this.bufferArrayOffset = 0;
+        }
         buffer.order(ByteOrder.LITTLE_ENDIAN);
     }
 
@@ -127,6 +162,9 @@ public class ByteBufferBsonInput implements BsonInput {
 
     @Override
     public String readCString() {
+        if (fieldNameCache != null) {
+            return readCachedCString();
+        }
         int mark = buffer.position();
         skipCString();
         int size = buffer.position() - mark;
@@ -134,6 +172,57 @@ public class ByteBufferBsonInput implements BsonInput {
         return readString(size);
     }
 
+    private String readCachedCString() {
+        ensureOpen();
+        int mark = buffer.position();
+        skipCString();
+        int length = buffer.position() - mark - 1;
+        if (length < 2 || length > MAX_CACHED_FIELD_NAME_LENGTH) {
+            buffer.position(mark);
+            return readString(length + 1);
+        }
+        // for ASCII bytes this is the same value as String.hashCode, which is cached by the String, so most mismatches are cheap
+        int hash = 0;
+        boolean ascii = true;
+        if (bufferArray != null) {
+            for (int i = bufferArrayOffset + mark, end = i + length; i < end; i++) {
+                byte cur = bufferArray[i];
+                hash = 31 * hash + cur;
+                ascii &= cur > 0;
+            }
+        } else {
+            for (int i = mark, end = mark + length; i < end; i++) {
+                byte cur = buffer.get(i);
+                hash = 31 * hash + cur;
+                ascii &= cur > 0;
+            }
+        }
+        buffer.position(mark);
+        if (!ascii) {
+            return readString(length + 1);
+        }
+
+        int index = (hash ^ (hash >>> 16)) & (FIELD_NAME_CACHE_SIZE - 1);
+        String cached = fieldNameCache[index];
+        if (cached != null && cached.hashCode() == hash && cached.length() == length && matches(cached, mark)) {
+            buffer.position(mark + length + 1);
+            return cached;
+        }
+        String fieldName = readString(length + 1);
+        fieldNameCache[index] = fieldName;
+        return fieldName;
+    }
+
+    private boolean matches(final String cached, final int position) {
+        for (int i = 0; i < cached.length(); i++) {
+            byte cur = bufferArray != null ? bufferArray[bufferArrayOffset + position + i] : buffer.get(position + i);
+            if (cached.charAt(i) != cur) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private String readString(final int size) {
         if (size == 2) {
             byte asciiByte = buffer.get();               // if only one byte in the string, it must be ascii.
@@ -145,27 +234,71 @@ public class ByteBufferBsonInput implements BsonInput {
                 return StandardCharsets.UTF_8.newDecoder().replacement();
             }
             return ONE_BYTE_ASCII_STRINGS[asciiByte];  // this will throw if asciiByte is negative
+        } else if (bufferArray != null) {
+            int offset = bufferArrayOffset + buffer.position();
+            if (bufferArray[offset + size - 1] != 0) {
+                throw new BsonSerializationException("Found a BSON string that is not null-terminated");
+            }
+            String string = new String(bufferArray, offset, size - 1, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + size);
+            return string;
         } else {
-            byte[] bytes = new byte[size - 1];
-            buffer.get(bytes);
+            byte[] bytes = getScratchBuffer(size - 1);
+            buffer.get(bytes, 0, size - 1);
             byte nullByte = buffer.get();
             if (nullByte != 0) {
                 throw new BsonSerializationException("Found a BSON string that is not null-terminated");
             }
-            return new String(bytes, StandardCharsets.UTF_8);
+            return new String(bytes, 0, size - 1, StandardCharsets.UTF_8);
+        }
+    }
+
+    private byte[] getScratchBuffer(final int size) {
+        if (size > MAX_SCRATCH_BUFFER_SIZE) {
+            return new byte[size];
+        }
+        if (scratchBuffer == null || scratchBuffer.length < size) {
+            scratchBuffer = new byte[Math.max(size, 64)];
         }
+        return scratchBuffer;
     }
 
     @Override
     public void skipCString() {
         ensureOpen();
-        boolean checkNext = true;
-        while (checkNext) {
-            if (!buffer.hasRemaining()) {
-                throw new BsonSerializationException("Found a BSON string that is not null-terminated");
+        int position = buffer.position();
+        int limit = buffer.limit();
+        // A plain loop over the backing array is already cheap, and is faster than reading words through the buffer for short strings
+        if (bufferArray != null) {
+            for (int i = bufferArrayOffset + position, end = bufferArrayOffset + limit; i < end; i++) {
+                if (bufferArray[i] == 0) {
+                    buffer.position(i - bufferArrayOffset + 1);
+                    return;
+                }
+            }
+            buffer.position(limit);
+            throw new BsonSerializationException("Found a BSON string that is not null-terminated");
+        }
+        // Otherwise look for the null terminator eight bytes at a time.  The expression below sets the high bit of the lowest zero byte
+        // in the word, and the buffer is little-endian, so the number of trailing zero bits locates the first zero byte.  It can also set
+        // the high bit of a 0x01 byte that follows a zero byte, but never of a byte before the first zero byte.
+        while (limit - position >= 8) {
+            long word = buffer.getLong(position);
+            long zeroBytes = (word - 0x0101010101010101L) & ~word & 0x8080808080808080L;
+            if (zeroBytes != 0) {
+                buffer.position(position + (Long.numberOfTrailingZeros(zeroBytes) >>> 3) + 1);
+                return;
+            }
+            position += 8;
+        }
+        while (position < limit) {
+            if (buffer.get(position++) == 0) {
+                buffer.position(position);
+                return;
             }
-            checkNext = buffer.get() != 0;
         }
+        buffer.position(limit);
+        throw new BsonSerializationException("Found a BSON string that is not null-terminated");
     }
 
     @Override
@@ -196,6 +329,7 @@ public class ByteBufferBsonInput implements BsonInput {
     public void close() {
         buffer.release();
         buffer = null;
+        bufferArray = null;
     }
 
     private void ensureOpen() {
@@ -27,10 +27,33 @@ import java.io.Reader;
  */
 class JsonScanner {
 
+    private static final JsonToken END_OF_FILE = new JsonToken(JsonTokenType.END_OF_FILE, "<eof>");
+    private static final JsonToken BEGIN_OBJECT = new JsonToken(JsonTokenType.BEGIN_OBJECT, "{");
+    private static final JsonToken END_OBJECT = new JsonToken(JsonTokenType.END_OBJECT, "}");
+    private static final JsonToken BEGIN_ARRAY = new JsonToken(JsonTokenType.BEGIN_ARRAY, "[");
+    private static final JsonToken END_ARRAY = new JsonToken(JsonTokenType.END_ARRAY, "]");
+    private static final JsonToken LEFT_PAREN = new JsonToken(JsonTokenType.LEFT_PAREN, "(");
+    private static final JsonToken RIGHT_PAREN = new JsonToken(JsonTokenType.RIGHT_PAREN, ")");
+    private static final JsonToken COLON = new JsonToken(JsonTokenType.COLON, ":");
+    private static final JsonToken COMMA = new JsonToken(JsonTokenType.COMMA, ",");
+
+    // The powers of ten that a double represents exactly
+    private static final double[] EXACT_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    // Integers with up to 15 digits are below 2^53, so a double represents them exactly
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    // Integers with up to 18 digits fit in a long
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int MAX_EXPONENT_DIGITS = 4;
+
     private final JsonBuffer buffer;
+    // Not null when scanning a string, which strings, unquoted strings and numbers are then read from directly
+    private final JsonStringBuffer stringBuffer;
 
     JsonScanner(final JsonBuffer buffer) {
         this.buffer = buffer;
+        this.stringBuffer = buffer instanceof JsonStringBuffer ? (JsonStringBuffer) buffer : null;
     }
 
     JsonScanner(final String json) {
@@ -67,26 +90,26 @@ class JsonScanner {
             c = buffer.read();
         }
         if (c == -1) {
-            return new JsonToken(JsonTokenType.END_OF_FILE, "<eof>");
+            return END_OF_FILE;
         }
 
         switch (c) {
             case '{':
-                return new JsonToken(JsonTokenType.BEGIN_OBJECT, "{");
+                return BEGIN_OBJECT;
             case '}':
-                return new JsonToken(JsonTokenType.END_OBJECT, "}");
+                return END_OBJECT;
             case '[':
-                return new JsonToken(JsonTokenType.BEGIN_ARRAY, "[");
+                return BEGIN_ARRAY;
             case ']':
-                return new JsonToken(JsonTokenType.END_ARRAY, "]");
+                return END_ARRAY;
             case '(':
-                return new JsonToken(JsonTokenType.LEFT_PAREN, "(");
+                return LEFT_PAREN;
             case ')':
-                return new JsonToken(JsonTokenType.RIGHT_PAREN, ")");
+                return RIGHT_PAREN;
             case ':':
-                return new JsonToken(JsonTokenType.COLON, ":");
+                return COLON;
             case ',':
-                return new JsonToken(JsonTokenType.COMMA, ",");
+                return COMMA;
             case '\'':
             case '"':
                 return scanString((char) c);
@@ -198,10 +221,20 @@ class JsonScanner {
      * @return The string token.
      */
     private JsonToken scanUnquotedString(final char firstChar) {
+        if (stringBuffer != null) {
+            String json = stringBuffer.getString();
+            int start = stringBuffer.getPosition() - 1;
+            int end = start + 1;
+            while (end < json.length() && isUnquotedStringPart(json.charAt(end))) {
+                end++;
+            }
+            stringBuffer.setPosition(end);
+            return new JsonToken(JsonTokenType.UNQUOTED_STRING, json.substring(start, end));
+        }
         StringBuilder sb = new StringBuilder();
         sb.append(firstChar);
         int c = buffer.read();
-        while (c == '$' || c == '_' || Character.isLetterOrDigit(c)) {
+        while (isUnquotedStringPart(c)) {
             sb.append((char) c);
             c = buffer.read();
         }
@@ -210,6 +243,10 @@ class JsonScanner {
         return new JsonToken(JsonTokenType.UNQUOTED_STRING, lexeme);
     }
 
+    private static boolean isUnquotedStringPart(final int c) {
+        return c == '$' || c == '_' || Character.isLetterOrDigit(c);
+    }
+
     /**
      * Reads number token from source. The following variants of lexemes are possible:
      * <pre>
@@ -230,6 +267,12 @@ class JsonScanner {
      */
     //CHECKSTYLE:OFF
     private JsonToken scanNumber(final char firstChar) {
+        if (stringBuffer != null) {
+            JsonToken token = scanSimpleNumber();
+            if (token != null) {
+                return token;
+            }
+        }
 
         int c = firstChar;
         StringBuilder sb = new StringBuilder();
@@ -460,6 +503,116 @@ class JsonScanner {
     }
     //CHECKSTYLE:ON
 
+    /**
+     * Reads a number of the common form {@code -?[0-9]+(\.[0-9]+)?([eE][+-]?[0-9]+)?} directly from the string, without copying it. The
+     * value is computed from its digits when it is an integer, or a double with at most {@value #MAX_EXACT_DOUBLE_DIGITS} significant
+     * digits and a power of ten that a double represents exactly, in which case a single multiplication or division rounds it
+     * correctly. Otherwise, it is parsed from a substring.
+     *
+     * @return The number token, or null, with the position unchanged, if the number has another form, including an invalid one, which
+     * {@link #scanNumber(char)} then handles.
+     */
+    private JsonToken scanSimpleNumber() {
+        String json = stringBuffer.getString();
+        int length = json.length();
+        int start = stringBuffer.getPosition() - 1;
+        int i = start;
+        boolean negative = json.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long significand = 0;
+        int significantDigits = 0;
+        boolean exact = true;
+        int scale = 0;
+
+        int integerStart = i;
+        while (i < length && isAsciiDigit(json.charAt(i))) {
+            int digit = json.charAt(i++) - '0';
+            if (significand != 0 || digit != 0) {
+                if (significantDigits < MAX_LONG_DIGITS) {
+                    significand = significand * 10 + digit;
+                    significantDigits++;
+                } else {
+                    exact = false;
+                }
+            }
+        }
+        if (i == integerStart) {
+            return null;
+        }
+
+        boolean isDouble = false;
+        if (i < length && json.charAt(i) == '.') {
+            isDouble = true;
+            int fractionStart = ++i;
+            while (i < length && isAsciiDigit(json.charAt(i))) {
+                int digit = json.charAt(i++) - '0';
+                if (significand != 0 || digit != 0) {
+                    if (significantDigits < MAX_LONG_DIGITS) {
+                        significand = significand * 10 + digit;
+                        significantDigits++;
+                    } else {
+                        exact = false;
+                    }
+                }
+                scale--;
+            }
+            if (i == fractionStart) {
+                return null;
+            }
+        }
+
+        if (i < length && (json.charAt(i) == 'e' || json.charAt(i) == 'E')) {
+            isDouble = true;
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (json.charAt(i) == '+' || json.charAt(i) == '-')) {
+                negativeExponent = json.charAt(i++) == '-';
+            }
+            int exponentStart = i;
+            int exponent = 0;
+            while (i < length && isAsciiDigit(json.charAt(i))) {
+                if (i - exponentStart == MAX_EXPONENT_DIGITS) {
+                    return null;
+                }
+                exponent = exponent * 10 + json.charAt(i++) - '0';
+            }
+            // scanNumber does not accept the end of the input after an exponent
+            if (i == exponentStart || i == length) {
+                return null;
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        if (i < length && !isNumberDelimiter(json.charAt(i))) {
+            return null;
+        }
+        stringBuffer.setPosition(i);
+
+        if (isDouble) {
+            if (exact && significantDigits <= MAX_EXACT_DOUBLE_DIGITS && Math.abs(scale) < EXACT_POWERS_OF_TEN.length) {
+                double value = scale < 0 ? significand / EXACT_POWERS_OF_TEN[-scale] : significand * EXACT_POWERS_OF_TEN[scale];
+                return new JsonToken(JsonTokenType.DOUBLE, negative ? -value : value);
+            }
+            return new JsonToken(JsonTokenType.DOUBLE, Double.parseDouble(json.substring(start, i)));
+        }
+        long value = exact ? (negative ? -significand : significand) : Long.parseLong(json.substring(start, i));
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return new JsonToken(JsonTokenType.INT64, value);
+        } else {
+            return new JsonToken(JsonTokenType.INT32, (int) value);
+        }
+    }
+
+    private static boolean isAsciiDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNumberDelimiter(final char c) {
+        return c == ',' || c == '}' || c == ']' || c == ')' || Character.isWhitespace(c);
+    }
+
     /**
      * Reads {@code StringToken} from source.
      *
@@ -468,7 +621,27 @@ class JsonScanner {
     //CHECKSTYLE:OFF
     private JsonToken scanString(final char quoteCharacter) {
 
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb;
+        if (stringBuffer != null) {
+            String json = stringBuffer.getString();
+            int start = stringBuffer.getPosition();
+            int i = start;
+            while (i < json.length()) {
+                char c = json.charAt(i);
+                if (c == quoteCharacter) {
+                    stringBuffer.setPosition(i + 1);
+                    return new JsonToken(JsonTokenType.STRING, json.substring(start, i));
+                } else if (c == '\\') {
+                    break;
+                }
+                i++;
+            }
+            // Continue one character at a time from the first escape sequence, or the end of the input
+            stringBuffer.setPosition(i);
+            sb = new StringBuilder(i - start + 16).append(json, start, i);
+        } else {
+            sb = new StringBuilder();
+        }
 
         while (true) {
             int c = buffer.read();
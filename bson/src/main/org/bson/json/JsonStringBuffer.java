@@ -62,4 +62,13 @@ class JsonStringBuffer implements JsonBuffer {
     public void discard(final int markPos) {
     }
 
+    // For the scanner, which reads tokens directly from the string and then moves the position past them
+    String getString() {
+        return buffer;
+    }
+
+    void setPosition(final int position) {
+        this.position = position;
+    }
+
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.types;
+
+import org.bson.codecs.IdGenerator;
+
+/**
+ * A generator of {@link ObjectId}s that reserves counters in batches for each thread that uses it, so that threads creating many ids do
+ * not contend on the counter shared by {@link ObjectId#ObjectId()}. For example, a {@link org.bson.codecs.DocumentCodec} can use it to
+ * generate the ids of inserted documents:
+ *
+ * <pre>
+ * new DocumentCodec(registry).withIdGenerator(new BatchingObjectIdGenerator())
+ * </pre>
+ *
+ * <p>The ids created by a thread increase, as long as the clock does not go backwards and the three-byte counter does not wrap around
+ * within a second. Ids created by different threads within the same second are not ordered by creation, whereas ids created by
+ * {@link ObjectId#ObjectId()} mostly are.</p>
+ *
+ * <p>Counters are reserved for the second in which they were reserved, and the unused ones are discarded when the second changes.
+ * Counters are therefore only reused with the same timestamp if the shared counter wraps around within a second, as with
+ * {@link ObjectId#ObjectId()}. The number of counters a thread reserves at once starts at one and doubles each time the reserved ones
+ * are used up, so that a thread never discards more counters than it used.</p>
+ *
+ * <p>Instances of this class are thread-safe.</p>
+ *
+ * @since 5.2
+ */
+public final class BatchingObjectIdGenerator implements IdGenerator {
+    private static final int MAX_RESERVED_COUNTERS = 64;
+
+    private final ThreadLocal<ReservedCounters> reservedCounters = ThreadLocal.withInitial(ReservedCounters::new);
+
+    /**
+     * Construct an instance.
+     */
+    public BatchingObjectIdGenerator() {
+    }
+
+    /**
+     * Create a new object id.
+     *
+     * @return the new object id
+     */
+    @Override
+    public ObjectId generate() {
+        return reservedCounters.get().generate();
+    }
+
+    private static final class ReservedCounters {
+        private int timestamp;
+        private int nextCounter;
+        private int remaining;
+        private int reserved;
+
+        ObjectId generate() {
+            int currentTimestamp = (int) (System.currentTimeMillis() / 1000);
+            if (remaining == 0 || currentTimestamp != timestamp) {
+                reserved = remaining == 0 && currentTimestamp == timestamp ? Math.min(reserved * 2, MAX_RESERVED_COUNTERS) : 1;
+                nextCounter = ObjectId.reserveCounters(reserved);
+                remaining = reserved;
+                timestamp = currentTimestamp;
+            }
+            remaining--;
+            return new ObjectId(timestamp, nextCounter++, false);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Date;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -59,7 +60,7 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
 
     private static final AtomicInteger NEXT_COUNTER = new AtomicInteger(new SecureRandom().nextInt());
 
-    private static final char[] HEX_CHARS = {
+    private static final byte[] HEX_DIGITS = {
             '0', '1', '2', '3', '4', '5', '6', '7',
             '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
 
@@ -141,6 +142,8 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
 
     /**
      * Create a new object id.
+     *
+     * @see BatchingObjectIdGenerator
      */
     public ObjectId() {
         this(new Date());
@@ -177,7 +180,7 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
         this(timestamp, counter, true);
     }
 
-    private ObjectId(final int timestamp, final int counter, final boolean checkCounter) {
+    ObjectId(final int timestamp, final int counter, final boolean checkCounter) {
         this(timestamp, RANDOM_VALUE1, RANDOM_VALUE2, counter, checkCounter);
     }
 
@@ -295,13 +298,20 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
      * @return a string representation of the ObjectId in hexadecimal format
      */
     public String toHexString() {
-        char[] chars = new char[OBJECT_ID_LENGTH * 2];
-        int i = 0;
-        for (byte b : toByteArray()) {
-            chars[i++] = HEX_CHARS[b >> 4 & 0xF];
-            chars[i++] = HEX_CHARS[b & 0xF];
+        byte[] chars = new byte[OBJECT_ID_LENGTH * 2];
+        putHex(chars, 0, 8, timestamp);
+        putHex(chars, 8, 6, randomValue1);
+        putHex(chars, 14, 4, randomValue2);
+        putHex(chars, 18, 6, counter);
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void putHex(final byte[] chars, final int offset, final int length, final int value) {
+        int remaining = value;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[remaining & 0xF];
+            remaining >>>= 4;
         }
-        return new String(chars);
     }
 
     @Override
@@ -414,6 +424,16 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
         }
     }
 
+    /**
+     * Reserves the given number of consecutive counters for new ids.
+     *
+     * @param count the number of counters to reserve
+     * @return the first reserved counter, which may exceed three bytes
+     */
+    static int reserveCounters(final int count) {
+        return NEXT_COUNTER.getAndAdd(count);
+    }
+
     private static byte[] parseHexString(final String s) {
         notNull("hexString", s);
         isTrueArgument("hexString has 24 characters", s.length() == 24);
@@ -26,6 +26,7 @@ import org.bson.json.JsonWriterSettings;
 import org.junit.jupiter.api.Test;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -101,6 +102,17 @@ public class BsonDocumentTest {
         assertEquals(document.toJson(), document.toString());
     }
 
+    @Test
+    public void shouldIterateFieldsWithForEach() {
+        BsonDocument wrappedDocument = new BsonDocumentWrapper<>(document, new BsonDocumentCodec());
+        for (BsonDocument cur : Arrays.asList(document, rawDocument, wrappedDocument)) {
+            BsonDocument copy = new BsonDocument();
+            cur.forEach(copy::put);
+            assertEquals(document, copy);
+            assertEquals(Arrays.asList("a", "b", "c", "d"), new ArrayList<>(copy.keySet()));
+        }
+    }
+
     @Test
     public void shouldParseJson() {
         assertEquals(new BsonDocument("a", new BsonInt32(1)), BsonDocument.parse("{\"a\" : 1}"));
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.bson;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactLinkedMapTest {
+
+    @Test
+    public void shouldKeepInsertionOrder() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("b", 1);
+        map.put("a", 2);
+        map.put("c", 3);
+        map.put("a", 4);
+        map.remove("b");
+        map.put("b", 5);
+
+        assertEquals(asList("a", "c", "b"), new ArrayList<>(map.keySet()));
+        assertEquals(asList(4, 3, 5), new ArrayList<>(map.values()));
+        assertEquals("{a=4, c=3, b=5}", map.toString());
+    }
+
+    @Test
+    public void shouldSupportNullKeysAndValues() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put(null, 1);
+        map.put("a", null);
+
+        assertEquals(1, map.get(null));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsValue(null));
+        assertNull(map.get("a"));
+        assertEquals(1, map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void shouldWriteThroughEntries() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() * 10);
+        }
+
+        assertEquals(10, map.get("a"));
+        assertEquals(20, map.get("b"));
+        assertTrue(map.entrySet().contains(new SimpleImmutableEntry<>("b", 20)));
+        assertEquals(new LinkedHashMap<>(map).entrySet().iterator().next(), map.entrySet().iterator().next());
+    }
+
+    @Test
+    public void shouldKeepEntriesConsistentAcrossRemovals() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(Integer.toString(i), i);
+        }
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        Map.Entry<String, Integer> removedEntry = iterator.next();
+        Map.Entry<String, Integer> movedEntry = iterator.next();
+
+        map.remove("0");
+        for (int i = 2; i < 12; i++) {
+            map.remove(Integer.toString(i));
+        }
+
+        assertEquals("0", removedEntry.getKey());
+        assertEquals(0, removedEntry.getValue());
+        assertEquals(0, removedEntry.setValue(100));
+        assertEquals(100, removedEntry.getValue());
+        assertFalse(map.containsKey("0"));
+
+        assertEquals("1", movedEntry.getKey());
+        assertEquals(1, movedEntry.getValue());
+        assertEquals(1, movedEntry.setValue(10));
+        assertEquals(10, map.get("1"));
+        assertEquals(asList("1", "12", "13", "14", "15", "16", "17", "18", "19"), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    public void shouldRemoveThroughIterators() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(Integer.toString(i), i);
+        }
+
+        for (Iterator<Integer> iterator = map.values().iterator(); iterator.hasNext();) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        map.keySet().remove("1");
+        map.entrySet().remove(new SimpleImmutableEntry<>("3", 3));
+
+        assertEquals(8, map.size());
+        assertEquals(asList("5", "7", "9", "11", "13", "15", "17", "19"), new ArrayList<>(map.keySet()));
+        assertEquals(15, map.get("15"));
+        assertNull(map.get("14"));
+    }
+
+    @Test
+    public void shouldFailFastWhenModifiedDuringIteration() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put("c", 3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(IllegalStateException.class, () -> map.keySet().iterator().remove());
+    }
+
+    @Test
+    public void shouldCompareAndCopyLikeLinkedHashMap() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", null);
+        map.put("c", 3);
+        map.remove("a");
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("b", null);
+        expected.put("c", 3);
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertFalse(map.equals(singletonMap("b", null)));
+        Map<String, Integer> withoutNullValue = new LinkedHashMap<>(expected);
+        withoutNullValue.remove("b");
+        withoutNullValue.put("d", null);
+        assertFalse(map.equals(withoutNullValue));
+
+        CompactLinkedMap<String, Integer> copy = new CompactLinkedMap<>(singletonMap("z", 0));
+        copy.putAll(map);
+        copy.putAll(singletonMap("c", 4));
+        assertEquals(asList("z", "b", "c"), new ArrayList<>(copy.keySet()));
+        assertEquals(asList(0, null, 4), new ArrayList<>(copy.values()));
+    }
+
+    @Test
+    public void shouldRejectNegativeInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactLinkedMap<>(-1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 16, 1000})
+    public void shouldBehaveLikeLinkedHashMap(final int numberOfKeys) {
+        Random random = new Random(numberOfKeys);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        CompactLinkedMap<String, Integer> actual = new CompactLinkedMap<>(random.nextInt(4));
+
+        for (int i = 0; i < numberOfKeys * 50; i++) {
+            String key = Integer.toString(random.nextInt(numberOfKeys));
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                case 2:
+                    assertEquals(expected.remove(key), actual.remove(key));
+                    break;
+                case 3:
+                    assertEquals(expected.containsKey(key), actual.containsKey(key));
+                    assertEquals(expected.get(key), actual.get(key));
+                    break;
+                case 4:
+                    if (random.nextInt(numberOfKeys) == 0) {
+                        expected.clear();
+                        actual.clear();
+                    }
+                    break;
+                default:
+                    assertEquals(expected.put(key, i), actual.put(key, i));
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        for (String key : expected.keySet()) {
+            assertEquals(expected.get(key), actual.get(key));
+        }
+    }
+}
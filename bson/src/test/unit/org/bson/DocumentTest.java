@@ -30,6 +30,11 @@ import org.bson.conversions.Bson;
 import org.bson.json.JsonReader;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -151,6 +156,20 @@ public class DocumentTest {
         assertEquals(new BsonDocument("_id", new BsonBinary(uuid)), BsonDocument.parse(json));
     }
 
+    @Test
+    public void shouldSerializeAndDeserialize() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(document);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Document deserialized = (Document) in.readObject();
+            assertEquals(document, deserialized);
+            assertEquals(asList("a", "b", "c", "d"), new ArrayList<>(deserialized.keySet()));
+        }
+    }
+
     public class Name {
         private final String name;
 
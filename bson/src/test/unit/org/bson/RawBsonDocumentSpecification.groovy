@@ -161,6 +161,46 @@ class RawBsonDocumentSpecification extends Specification {
         rawDocument << createRawDocumentVariants()
     }
 
+    def 'should find keys that share a prefix or a hash code with other keys'() {
+        given:
+        def rawDocument = new RawBsonDocument(new BsonDocument()
+                .append('Aa', new BsonInt32(1))
+                .append('BB', new BsonInt32(2))
+                .append('ab', new BsonInt32(3))
+                .append('abc', new BsonInt32(4))
+                .append('\u00e9t\u00e9', new BsonInt32(5))
+                .append('\u6f22\u5b57', new BsonInt32(6)), new BsonDocumentCodec())
+
+        expect:
+        'Aa'.hashCode() == 'BB'.hashCode()
+        rawDocument.get('Aa') == new BsonInt32(1)
+        rawDocument.get('BB') == new BsonInt32(2)
+        rawDocument.get('ab') == new BsonInt32(3)
+        rawDocument.get('abc') == new BsonInt32(4)
+        rawDocument.get('\u00e9t\u00e9') == new BsonInt32(5)
+        rawDocument.get('\u6f22\u5b57') == new BsonInt32(6)
+
+        and:
+        !rawDocument.containsKey('a')
+        !rawDocument.containsKey('abcd')
+        !rawDocument.containsKey('ab\u0000')
+        !rawDocument.containsKey('\u00e9t')
+        !rawDocument.containsKey(1)
+        rawDocument.get(1) == null
+    }
+
+    def 'should find every key of a large document in any order'() {
+        given:
+        def document = new BsonDocument()
+        (0..<1000).each { document.append("field$it".toString(), new BsonString("value$it")) }
+        def rawDocument = new RawBsonDocument(document, new BsonDocumentCodec())
+
+        expect:
+        (999..0).every { rawDocument.get("field$it".toString()) == new BsonString("value$it") }
+        (0..<1000).every { rawDocument.containsKey("field$it".toString()) }
+        !rawDocument.containsKey('field1000')
+    }
+
     def 'should return RawBsonDocument for sub documents and RawBsonArray for arrays'() {
         expect:
         rawDocument.get('a') instanceof BsonInt32
@@ -34,6 +34,7 @@ import org.bson.codecs.configuration.CodecRegistry
 import org.bson.io.BasicOutputBuffer
 import org.bson.io.ByteBufferBsonInput
 import org.bson.json.JsonReader
+import org.bson.types.BatchingObjectIdGenerator
 import org.bson.types.Binary
 import org.bson.types.Code
 import org.bson.types.CodeWithScope
@@ -267,6 +268,33 @@ class DocumentCodecSpecification extends Specification {
         document.get('_id') instanceof ObjectId
     }
 
+    def 'should generate ids with the configured id generator when documents are inserted concurrently'() {
+        given:
+        def codec = new DocumentCodec(REGISTRY).withIdGenerator(new BatchingObjectIdGenerator()).withUuidRepresentation(STANDARD)
+        def numberOfThreads = 4
+        def documentsPerThread = 1000
+        def idsPerThread = (1..numberOfThreads).collect { [] }
+
+        when:
+        def threads = idsPerThread.collect { ids ->
+            new Thread({
+                documentsPerThread.times {
+                    def document = codec.generateIdIfAbsentFromDocument(new Document('x', it))
+                    def writer = new BsonDocumentWriter(new BsonDocument())
+                    codec.encode(writer, document, EncoderContext.builder().isEncodingCollectibleDocument(true).build())
+                    ids.add(writer.getDocument().getObjectId('_id').getValue())
+                }
+            })
+        }
+        threads*.start()
+        threads*.join()
+
+        then:
+        idsPerThread.every { it.size() == documentsPerThread }
+        idsPerThread.flatten().toSet().size() == numberOfThreads * documentsPerThread
+        idsPerThread.every { ids -> (1..<ids.size()).count { ids[it - 1] >= ids[it] } <= 1 }
+    }
+
     def 'should not generate id if present'() {
         given:
         def document = new Document('_id', 1)
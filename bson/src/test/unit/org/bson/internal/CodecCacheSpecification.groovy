@@ -61,4 +61,28 @@ class CodecCacheSpecification extends Specification {
         then:
         !cache.get(cacheKey).isPresent()
     }
+
+    def 'should distinguish a class without type arguments from one with an empty list of type arguments'() {
+        when:
+        def codec = new MinKeyCodec()
+        def cache = new CodecCache()
+        cache.putIfAbsent(new CodecCache.CodecCacheKey(MinKey, null), codec)
+
+        then:
+        cache.get(new CodecCache.CodecCacheKey(MinKey, null)).get().is(codec)
+        !cache.get(new CodecCache.CodecCacheKey(MinKey, [])).isPresent()
+    }
+
+    def 'should not be affected by later changes to the type arguments it was given'() {
+        when:
+        def codec = new MinKeyCodec()
+        def cache = new CodecCache()
+        def types = [Integer]
+        cache.putIfAbsent(new CodecCache.CodecCacheKey(List, types), codec)
+        types.add(String)
+
+        then:
+        cache.get(new CodecCache.CodecCacheKey(List, [Integer])).get().is(codec)
+        !cache.get(new CodecCache.CodecCacheKey(List, [Integer, String])).isPresent()
+    }
 }
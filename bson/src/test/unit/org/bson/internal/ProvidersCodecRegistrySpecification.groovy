@@ -137,6 +137,39 @@ class ProvidersCodecRegistrySpecification extends Specification {
         codecFromRegistry == codec
     }
 
+    def 'get with type arguments should use the codecCache'() {
+        given:
+        def requestedTypeArguments = []
+        def provider = new CodecProvider() {
+            @Override
+            Codec get(final Class clazz, final CodecRegistry registry) {
+                throw new UnsupportedOperationException()
+            }
+
+            @Override
+            Codec get(final Class clazz, final List typeArguments, final CodecRegistry registry) {
+                requestedTypeArguments.add(typeArguments)
+                new MinKeyCodec()
+            }
+        }
+        def registry = new ProvidersCodecRegistry([provider])
+
+        when:
+        def integerListCodec = registry.get(List, [Integer])
+
+        then:
+        registry.get(List, [Integer]).is(integerListCodec)
+        !registry.get(List, [String]).is(integerListCodec)
+        !registry.get(List).is(integerListCodec)
+        requestedTypeArguments == [[Integer], [String], []]
+
+        when:
+        registry.get(List, [Integer, String])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def 'get with codec registry should return the codec from the first source that has one'() {
         given:
         def provider = new ProvidersCodecRegistry([new ClassModelCodecProvider([Simple])])
@@ -22,6 +22,7 @@ import org.bson.types.ObjectId
 import spock.lang.Specification
 
 import java.nio.ByteBuffer
+import java.nio.ByteOrder
 import java.nio.charset.Charset
 
 class ByteBufferBsonInputSpecification extends Specification {
@@ -159,6 +160,39 @@ class ByteBufferBsonInputSpecification extends Specification {
         stream.position == 8
     }
 
+    def 'should read strings from direct and offset buffers'() {
+        given:
+        def bytes = [0x7f, 5, 0, 0, 0, 0x4a, 0x61, 0x76, 0x61, 0, 4, 0, 0, 0, 0xe0, 0xa4, 0x80, 0, 0x4a, 0x61, 0x76, 0x61, 0] as byte[]
+        def byteBuffer = direct ? ByteBuffer.allocateDirect(bytes.length).put(bytes) : ByteBuffer.wrap(bytes)
+        byteBuffer.position(1)
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(byteBuffer.slice()))
+
+        expect:
+        stream.readString() == 'Java'
+        stream.readString() == '\u0900'
+        stream.readCString() == 'Java'
+        stream.position == bytes.length - 1
+
+        where:
+        direct << [true, false]
+    }
+
+    def 'should read a long string'() {
+        given:
+        def string = 'a' * 2000 + '\u0900'
+        def stringBytes = string.getBytes('UTF-8')
+        def byteBuffer = ByteBuffer.allocate(stringBytes.length + 5).order(ByteOrder.LITTLE_ENDIAN)
+        byteBuffer.putInt(stringBytes.length + 1).put(stringBytes).put((byte) 0).flip()
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(direct ? ByteBuffer.allocateDirect(byteBuffer.limit()).put(byteBuffer).flip()
+                : byteBuffer))
+
+        expect:
+        stream.readString() == string
+
+        where:
+        direct << [true, false]
+    }
+
     def 'should read an empty CString'() {
         given:
         def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([0] as byte[])))
@@ -227,6 +261,61 @@ class ByteBufferBsonInputSpecification extends Specification {
         e.getMessage() == 'Found a BSON string that is not null-terminated'
     }
 
+    def 'should return the cached CString when caching field names'() {
+        given:
+        def bytes = ('Java\u0000Java\u0000Jav\u0000Java\u0000' + 'a' * 65 + '\u0000' + 'a' * 65 + '\u0000').getBytes('UTF-8')
+        def byteBuffer = direct ? ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()
+                : ByteBuffer.wrap(([1, 2, 3] + (bytes as List)) as byte[]).position(3).slice()
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(byteBuffer), true)
+
+        when:
+        def first = stream.readCString()
+        def second = stream.readCString()
+        def third = stream.readCString()
+        def fourth = stream.readCString()
+        def firstLong = stream.readCString()
+        def secondLong = stream.readCString()
+
+        then:
+        first == 'Java'
+        second.is(first)
+        third == 'Jav'
+        fourth == 'Java'
+        firstLong == 'a' * 65
+        secondLong == firstLong
+        !secondLong.is(firstLong)
+        stream.position == bytes.length
+
+        where:
+        direct << [false, true]
+    }
+
+    def 'should read CStrings that are not cached when caching field names'() {
+        given:
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(bytes as byte[])), true)
+
+        expect:
+        stream.readCString() == expected
+        stream.readCString() == expected
+        stream.position == bytes.size()
+
+        where:
+        bytes                                  | expected
+        [0, 0]                                 | ''
+        [0x4a, 0, 0x4a, 0]                     | 'J'
+        [0xe0, 0xa4, 0x80, 0, 0xe0, 0xa4, 0x80, 0] | '\u0900'
+    }
+
+    def 'should handle invalid CString not null terminated when caching field names'() {
+        when:
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([0x4a, 0x61, 0x76, 0x61] as byte[])), true)
+        stream.readCString()
+
+        then:
+        def e = thrown(BsonSerializationException)
+        e.getMessage() == 'Found a BSON string that is not null-terminated'
+    }
+
     def 'should read from position'() {
         given:
         def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([4, 3, 2, 1] as byte[])))
@@ -249,6 +338,39 @@ class ByteBufferBsonInputSpecification extends Specification {
         stream.position == 5
     }
 
+    def 'should skip CStrings with the null terminator at any offset'() {
+        given:
+        def bytes = new byte[length + 10]
+        Arrays.fill(bytes, (byte) 0x01)
+        bytes[0] = (byte) 0x80
+        bytes[1] = (byte) 0xff
+        bytes[length] = 0
+        def byteBuffer = direct ? ByteBuffer.allocateDirect(bytes.length).put(bytes).flip() : ByteBuffer.wrap(bytes)
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(byteBuffer))
+
+        when:
+        stream.skipCString()
+
+        then:
+        stream.position == length + 1
+
+        where:
+        [length, direct] << [(2..20), [false, true]].combinations()
+    }
+
+    def 'should handle invalid long CString not null terminated when skipping'() {
+        given:
+        def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap(('a' * 20).getBytes('UTF-8'))))
+
+        when:
+        stream.skipCString()
+
+        then:
+        def e = thrown(BsonSerializationException)
+        e.getMessage() == 'Found a BSON string that is not null-terminated'
+        stream.position == 20
+    }
+
     def 'should skip'() {
         given:
         def stream = new ByteBufferBsonInput(new ByteBufNIO(ByteBuffer.wrap([0x4a, 0x61, 0x76, 0x61, 0] as byte[])))
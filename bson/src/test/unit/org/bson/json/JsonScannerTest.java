@@ -19,6 +19,12 @@ package org.bson.json;
 import org.bson.BsonRegularExpression;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -534,5 +540,63 @@ public class JsonScannerTest {
         JsonScanner scanner = new JsonScanner(json);
         assertThrows(JsonParseException.class, () -> scanner.nextToken());
     }
-}
 
+    @Test
+    public void testStringWithEscapeSequenceAfterPlainCharacters() {
+        String json = "\t \"abc\\ndef\\u0041\"x";
+        JsonBuffer buffer = new JsonStringBuffer(json);
+        JsonScanner scanner = new JsonScanner(buffer);
+        JsonToken token = scanner.nextToken();
+        assertEquals(JsonTokenType.STRING, token.getType());
+        assertEquals("abc\ndefA", token.getValue());
+        assertEquals('x', buffer.read());
+    }
+
+    @Test
+    public void testUnterminatedString() {
+        JsonScanner scanner = new JsonScanner("\t \"abc");
+        assertThrows(JsonParseException.class, () -> scanner.nextToken());
+    }
+
+    @Test
+    public void testNumbersScanTheSameFromStringsAndReaders() {
+        List<String> numbers = new ArrayList<>(asList("0", "-0", "-0.0", "007", "1.5", "-1.5e3", "1E-3", "0.1", "0.000001", "123e+2",
+                "2147483647", "2147483648", "-2147483648", "-2147483649", "999999999999999999", "9223372036854775807",
+                "-9223372036854775808", "123456789012345678901", "1.7976931348623157e308", "4.9e-324", "1e400", "1e-400",
+                "9007199254740993.0", "0.30000000000000004", "123456789012345.6", "1.00000000000000000001", "1e22", "1e23",
+                "-Infinity", "1.", "1e", "1e+", "-", "1.5e5", "12a"));
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            StringBuilder number = new StringBuilder();
+            if (random.nextBoolean()) {
+                number.append('-');
+            }
+            number.append(random.nextInt(1 << random.nextInt(31)));
+            if (random.nextBoolean()) {
+                number.append('.').append(random.nextInt(1 << random.nextInt(31)));
+            }
+            if (random.nextInt(4) == 0) {
+                number.append(random.nextBoolean() ? 'e' : 'E').append(random.nextInt(3) == 0 ? "-" : "").append(random.nextInt(400));
+            }
+            numbers.add(number.toString());
+        }
+
+        for (String number : numbers) {
+            for (String json : asList(number, number + ",", number + " }", number + ")x")) {
+                JsonScanner stringScanner = new JsonScanner(json);
+                JsonScanner readerScanner = new JsonScanner(new StringReader(json));
+                JsonToken expected;
+                try {
+                    expected = readerScanner.nextToken();
+                } catch (RuntimeException e) {
+                    assertThrows(e.getClass(), stringScanner::nextToken, json);
+                    continue;
+                }
+                JsonToken actual = stringScanner.nextToken();
+                assertEquals(expected.getType(), actual.getType(), json);
+                assertEquals(expected.getValue(), actual.getValue(), json);
+                assertEquals(readerScanner.nextToken().getType(), stringScanner.nextToken().getType(), json);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.bson.types;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchingObjectIdGeneratorTest {
+
+    @Test
+    public void testGeneratedIdsHaveTheCurrentTimestampAndTheSharedRandomValue() {
+        long before = System.currentTimeMillis() / 1000;
+        ObjectId objectId = new BatchingObjectIdGenerator().generate();
+        long after = System.currentTimeMillis() / 1000;
+
+        assertTrue(objectId.getTimestamp() >= before && objectId.getTimestamp() <= after);
+        ObjectId sharedCounterObjectId = new ObjectId();
+        assertEquals(ByteBuffer.wrap(sharedCounterObjectId.toByteArray(), 4, 5), ByteBuffer.wrap(objectId.toByteArray(), 4, 5));
+    }
+
+    @Test
+    public void testGeneratedIdsAreUniqueAcrossThreadsSharingAGeneratorAndIncreaseWithinEach() throws InterruptedException {
+        BatchingObjectIdGenerator generator = new BatchingObjectIdGenerator();
+        int numberOfThreads = 8;
+        int idsPerThread = 10_000;
+        List<List<ObjectId>> idsPerThreadList = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numberOfThreads; i++) {
+            List<ObjectId> ids = new ArrayList<>(idsPerThread);
+            idsPerThreadList.add(ids);
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids.add(generator.generate());
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<ObjectId> allIds = new HashSet<>();
+        for (List<ObjectId> ids : idsPerThreadList) {
+            assertEquals(idsPerThread, ids.size());
+            allIds.addAll(ids);
+            int decreases = 0;
+            for (int i = 1; i < ids.size(); i++) {
+                if (ids.get(i - 1).compareTo(ids.get(i)) >= 0) {
+                    // Only when the counter wraps around
+                    assertTrue(getCounter(ids.get(i)) < getCounter(ids.get(i - 1)));
+                    decreases++;
+                }
+            }
+            assertTrue(decreases <= 1);
+        }
+        assertEquals(numberOfThreads * idsPerThread, allIds.size());
+    }
+
+    private static int getCounter(final ObjectId objectId) {
+        return ByteBuffer.wrap(objectId.toByteArray()).getInt(8) & 0x00ffffff;
+    }
+}
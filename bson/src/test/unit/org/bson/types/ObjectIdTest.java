@@ -168,6 +168,17 @@ public class ObjectIdTest {
     public void testToHexString() {
         assertEquals("000000000000000000000000", new ObjectId(new byte[12]).toHexString());
         assertEquals("7fffffff007fff7fff007fff", new ObjectId(new byte[]{127, -1, -1, -1, 0, 127, -1, 127, -1, 0, 127, -1}).toHexString());
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            byte[] bytes = new byte[12];
+            random.nextBytes(bytes);
+            StringBuilder expected = new StringBuilder();
+            for (byte b : bytes) {
+                expected.append(String.format("%02x", b));
+            }
+            assertEquals(expected.toString(), new ObjectId(bytes).toHexString());
+        }
     }
 
     private Date getDate(final String s) throws ParseException {
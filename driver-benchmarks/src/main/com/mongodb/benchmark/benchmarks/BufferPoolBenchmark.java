@@ -0,0 +1,103 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.benchmark.benchmarks;
+
+import com.mongodb.benchmark.framework.Benchmark;
+import com.mongodb.internal.connection.BufferProvider;
+import com.mongodb.internal.connection.PowerOfTwoBufferPool;
+import org.bson.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of checking out and releasing buffers from the default buffer pool, with the total number of operations
+ * divided among a fixed number of threads.  Each operation acquires the sequence of buffers that a {@code ByteBufferBsonOutput} acquires
+ * while encoding a small command, and then releases them.  The unstriped variant uses a pool with a single stripe per buffer size,
+ * as a baseline for the striped default pool.
+ */
+public class BufferPoolBenchmark extends Benchmark {
+
+    private static final int[] BUFFER_SIZES = {1 << 10, 1 << 11, 1 << 12};
+    private static final int NUM_OPERATIONS = NUM_INTERNAL_ITERATIONS * 10;
+
+    private final BufferProvider bufferProvider;
+    private final int numThreads;
+    private final boolean striped;
+    private ExecutorService executor;
+
+    public BufferPoolBenchmark(final int numThreads) {
+        this(numThreads, true);
+    }
+
+    public BufferPoolBenchmark(final int numThreads, final boolean striped) {
+        this.numThreads = numThreads;
+        this.striped = striped;
+        bufferProvider = striped ? PowerOfTwoBufferPool.DEFAULT : new PowerOfTwoBufferPool(24, 1, TimeUnit.MINUTES, 1);
+    }
+
+    @Override
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(numThreads);
+    }
+
+    @Override
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public String getName() {
+        return "Buffer pool" + (striped ? "" : " unstriped") + " (" + numThreads + " threads)";
+    }
+
+    @Override
+    public void run() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(numThreads);
+        int operationsPerThread = NUM_OPERATIONS / numThreads;
+        for (int i = 0; i < numThreads; i++) {
+            futures.add(executor.submit(() -> {
+                ByteBuf[] buffers = new ByteBuf[BUFFER_SIZES.length];
+                for (int j = 0; j < operationsPerThread; j++) {
+                    for (int k = 0; k < BUFFER_SIZES.length; k++) {
+                        buffers[k] = bufferProvider.getBuffer(BUFFER_SIZES[k]);
+                    }
+                    for (ByteBuf buffer : buffers) {
+                        buffer.release();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    @Override
+    public int getBytesPerRun() {
+        int bytesPerOperation = 0;
+        for (int size : BUFFER_SIZES) {
+            bytesPerOperation += size;
+        }
+        return (NUM_OPERATIONS / numThreads) * numThreads * bytesPerOperation;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.benchmark.benchmarks;
+
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonReader;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+
+/**
+ * Measures the throughput of parsing a document from JSON written in the given mode.
+ */
+public class JsonParsingBenchmark<T> extends AbstractBsonDocumentBenchmark<T> {
+
+    private final JsonMode outputMode;
+    private String json;
+
+    public JsonParsingBenchmark(final String name, final String resourcePath, final Codec<T> codec, final JsonMode outputMode) {
+        super(name + " " + outputMode.name().toLowerCase(Locale.ROOT) + " JSON Parsing", resourcePath, codec);
+        this.outputMode = outputMode;
+    }
+
+    @Override
+    public void setUp() throws IOException {
+        super.setUp();
+        StringWriter writer = new StringWriter();
+        codec.encode(new JsonWriter(writer, JsonWriterSettings.builder().outputMode(outputMode).build()), document,
+                EncoderContext.builder().build());
+        json = writer.toString();
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < NUM_INTERNAL_ITERATIONS; i++) {
+            codec.decode(new JsonReader(json), DecoderContext.builder().build());
+        }
+    }
+
+    @Override
+    public int getBytesPerRun() {
+        return json.length() * NUM_INTERNAL_ITERATIONS;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.benchmark.benchmarks;
+
+import com.mongodb.benchmark.framework.Benchmark;
+import com.mongodb.benchmark.framework.BenchmarkResult;
+import com.mongodb.benchmark.framework.BenchmarkResultWriter;
+import com.mongodb.benchmark.framework.BenchmarkRunner;
+import com.mongodb.benchmark.framework.TextBasedBenchmarkResultWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.json.JsonMode;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.mongodb.MongoClientSettings.getDefaultCodecRegistry;
+
+/**
+ * Runs micro-benchmarks of individual driver components, which need no server and are not part of the specified driver benchmark suite
+ * that {@link BenchmarkSuite} runs.
+ */
+public class MicroBenchmarkSuite {
+
+    private static final int NUM_WARMUP_ITERATIONS = 1;
+    private static final int NUM_ITERATIONS = 100;
+    private static final int MIN_TIME_SECONDS = 10;
+    private static final int MAX_TIME_SECONDS = 60;
+
+    private static final Codec<Document> DOCUMENT_CODEC = getDefaultCodecRegistry().get(Document.class);
+
+    private static final List<BenchmarkResultWriter> WRITERS = Arrays.asList(
+            new TextBasedBenchmarkResultWriter(System.out, true, false));
+
+    private MicroBenchmarkSuite() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        runBenchmarks();
+
+        for (BenchmarkResultWriter writer : WRITERS) {
+            writer.close();
+        }
+    }
+
+    private static void runBenchmarks() throws Exception {
+        for (JsonMode mode : new JsonMode[] {JsonMode.EXTENDED, JsonMode.RELAXED, JsonMode.SHELL}) {
+            runBenchmark(new JsonParsingBenchmark<>("Flat", "extended_bson/flat_bson.json", DOCUMENT_CODEC, mode));
+            runBenchmark(new JsonParsingBenchmark<>("Deep", "extended_bson/deep_bson.json", DOCUMENT_CODEC, mode));
+            runBenchmark(new JsonParsingBenchmark<>("Full", "extended_bson/full_bson.json", DOCUMENT_CODEC, mode));
+        }
+
+        runBenchmark(new MixedDocumentEncodingBenchmark(10));
+        runBenchmark(new MixedDocumentEncodingBenchmark(1000));
+
+        for (boolean direct : new boolean[] {false, true}) {
+            runBenchmark(new StringDecodingBenchmark("Short ASCII", "value", direct));
+            runBenchmark(new StringDecodingBenchmark("Long ASCII", StringDecodingBenchmark.repeat("value", 200), direct));
+            runBenchmark(new StringDecodingBenchmark("Short multibyte", "\u00e9t\u00e9", direct));
+            runBenchmark(new StringDecodingBenchmark("Long multibyte", StringDecodingBenchmark.repeat("\u00e9t\u00e9", 300), direct));
+        }
+
+        for (boolean decoding : new boolean[] {false, true}) {
+            runBenchmark(new ZstdDictionaryBenchmark(false, decoding));
+            runBenchmark(new ZstdDictionaryBenchmark(true, decoding));
+        }
+
+        for (PojoCodecBenchmark.Mode mode : PojoCodecBenchmark.Mode.values()) {
+            runBenchmark(new PojoCodecBenchmark<>("Small reflective", PojoCodecBenchmark.SmallPojo.class,
+                    PojoCodecBenchmark::createSmallPojo, PojoCodecBenchmark::createReflectiveCodecRegistry, mode));
+            runBenchmark(new PojoCodecBenchmark<>("Small generated", PojoCodecBenchmark.SmallPojo.class,
+                    PojoCodecBenchmark::createSmallPojo, PojoCodecBenchmark::createGeneratedCodecRegistry, mode));
+            runBenchmark(new PojoCodecBenchmark<>("Large reflective", PojoCodecBenchmark.LargePojo.class,
+                    PojoCodecBenchmark::createLargePojo, PojoCodecBenchmark::createReflectiveCodecRegistry, mode));
+            runBenchmark(new PojoCodecBenchmark<>("Large generated", PojoCodecBenchmark.LargePojo.class,
+                    PojoCodecBenchmark::createLargePojo, PojoCodecBenchmark::createGeneratedCodecRegistry, mode));
+        }
+
+        runBenchmark(new BufferPoolBenchmark(1));
+        runBenchmark(new BufferPoolBenchmark(8));
+        runBenchmark(new BufferPoolBenchmark(64));
+        runBenchmark(new BufferPoolBenchmark(256));
+        runBenchmark(new BufferPoolBenchmark(1, false));
+        runBenchmark(new BufferPoolBenchmark(8, false));
+        runBenchmark(new BufferPoolBenchmark(64, false));
+        runBenchmark(new BufferPoolBenchmark(256, false));
+    }
+
+    private static void runBenchmark(final Benchmark benchmark) throws Exception {
+        BenchmarkResult benchmarkResult = new BenchmarkRunner(benchmark, NUM_WARMUP_ITERATIONS, NUM_ITERATIONS, MIN_TIME_SECONDS,
+                MAX_TIME_SECONDS).run();
+        for (BenchmarkResultWriter writer : WRITERS) {
+            writer.write(benchmarkResult);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.benchmark.benchmarks;
+
+import com.mongodb.benchmark.framework.Benchmark;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mongodb.MongoClientSettings.getDefaultCodecRegistry;
+
+/**
+ * Measures the throughput of encoding a {@link Document} tree built from many small values of mixed types, so that the cost of looking
+ * up a codec for each value dominates over the cost of writing the bytes.
+ */
+public class MixedDocumentEncodingBenchmark extends Benchmark {
+
+    private final int numberOfFields;
+    private Codec<Document> codec;
+    private Document document;
+    private int documentSize;
+
+    public MixedDocumentEncodingBenchmark(final int numberOfFields) {
+        this.numberOfFields = numberOfFields;
+    }
+
+    @Override
+    public void setUp() {
+        codec = getDefaultCodecRegistry().get(Document.class);
+        document = new Document();
+        for (int i = 0; i < numberOfFields; i++) {
+            document.append("field" + i, createValue(i));
+        }
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(outputBuffer), document, EncoderContext.builder().build());
+        documentSize = outputBuffer.getSize();
+    }
+
+    @Override
+    public String getName() {
+        return "Mixed document with " + numberOfFields + " fields BSON encoding";
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < NUM_INTERNAL_ITERATIONS; i++) {
+            codec.encode(new BsonBinaryWriter(new BasicOutputBuffer(documentSize)), document, EncoderContext.builder().build());
+        }
+    }
+
+    @Override
+    public int getBytesPerRun() {
+        return documentSize * NUM_INTERNAL_ITERATIONS;
+    }
+
+    private static Object createValue(final int i) {
+        switch (i % 8) {
+            case 0:
+                return "value" + i;
+            case 1:
+                return i;
+            case 2:
+                return (long) i << 32;
+            case 3:
+                return i / 3.0;
+            case 4:
+                return new Date(1700000000000L + i);
+            case 5:
+                return new Document("id", new ObjectId()).append("active", i % 2 == 0).append("amount", new Decimal128(i));
+            case 6:
+                List<Object> list = new ArrayList<>();
+                list.add("element" + i);
+                list.add(i);
+                list.add(new Binary(new byte[] {(byte) i}));
+                return list;
+            default:
+                Map<String, Object> map = new HashMap<>();
+                map.put("name", "map" + i);
+                map.put("count", (long) i);
+                return map;
+        }
+    }
+}
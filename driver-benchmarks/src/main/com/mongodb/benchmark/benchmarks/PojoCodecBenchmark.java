@@ -0,0 +1,208 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.benchmark.benchmarks;
+
+import com.mongodb.benchmark.framework.Benchmark;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.codecs.processor.GenerateCodec;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static com.mongodb.MongoClientSettings.getDefaultCodecRegistry;
+import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
+
+/**
+ * Measures the throughput of encoding or decoding a POJO, or of creating its codec and encoding it once, which is what an application
+ * does at startup. The codec comes either from {@link PojoCodecProvider} or from the provider generated at compile time for
+ * {@link GenerateCodec}.
+ */
+public class PojoCodecBenchmark<T> extends Benchmark {
+
+    public enum Mode {
+        ENCODING,
+        DECODING,
+        CODEC_CREATION
+    }
+
+    private final String name;
+    private final Class<T> pojoClass;
+    private final Supplier<T> pojoSupplier;
+    private final Supplier<CodecRegistry> codecRegistrySupplier;
+    private final Mode mode;
+    private Codec<T> codec;
+    private T pojo;
+    private byte[] pojoBytes;
+
+    public PojoCodecBenchmark(final String name, final Class<T> pojoClass, final Supplier<T> pojoSupplier,
+                              final Supplier<CodecRegistry> codecRegistrySupplier, final Mode mode) {
+        this.name = name;
+        this.pojoClass = pojoClass;
+        this.pojoSupplier = pojoSupplier;
+        this.codecRegistrySupplier = codecRegistrySupplier;
+        this.mode = mode;
+    }
+
+    @Override
+    public void setUp() {
+        codec = codecRegistrySupplier.get().get(pojoClass);
+        pojo = pojoSupplier.get();
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(outputBuffer), pojo, EncoderContext.builder().build());
+        pojoBytes = outputBuffer.toByteArray();
+    }
+
+    @Override
+    public String getName() {
+        return name + " POJO " + mode.name().toLowerCase(Locale.ROOT).replace('_', ' ');
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < NUM_INTERNAL_ITERATIONS; i++) {
+            switch (mode) {
+                case ENCODING:
+                    codec.encode(new BsonBinaryWriter(new BasicOutputBuffer(pojoBytes.length)), pojo, EncoderContext.builder().build());
+                    break;
+                case DECODING:
+                    codec.decode(new BsonBinaryReader(ByteBuffer.wrap(pojoBytes)), DecoderContext.builder().build());
+                    break;
+                case CODEC_CREATION:
+                    codecRegistrySupplier.get().get(pojoClass).encode(new BsonBinaryWriter(new BasicOutputBuffer(pojoBytes.length)), pojo,
+                            EncoderContext.builder().build());
+                    break;
+                default:
+                    throw new UnsupportedOperationException(mode.name());
+            }
+        }
+    }
+
+    @Override
+    public int getBytesPerRun() {
+        return pojoBytes.length * NUM_INTERNAL_ITERATIONS;
+    }
+
+    static CodecRegistry createReflectiveCodecRegistry() {
+        return fromRegistries(getDefaultCodecRegistry(), fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+    }
+
+    static CodecRegistry createGeneratedCodecRegistry() {
+        return fromRegistries(getDefaultCodecRegistry(), fromProviders(new GeneratedPojoCodecBenchmark_SmallPojoCodecProvider(),
+                new GeneratedPojoCodecBenchmark_LargePojoCodecProvider()));
+    }
+
+    static SmallPojo createSmallPojo() {
+        SmallPojo pojo = new SmallPojo();
+        pojo.setName("small");
+        pojo.setCount(42);
+        pojo.setScore(3.5);
+        pojo.setActive(true);
+        return pojo;
+    }
+
+    static LargePojo createLargePojo() {
+        LargePojo pojo = new LargePojo();
+        pojo.firstName = "first";
+        pojo.lastName = "last";
+        pojo.email = "first.last@example.com";
+        pojo.city = "city";
+        pojo.country = "country";
+        pojo.age = 42;
+        pojo.visits = 1234;
+        pojo.height = 1.8;
+        pojo.weight = 75.5;
+        pojo.createdAt = 1700000000000L;
+        pojo.updatedAt = 1700000001000L;
+        pojo.verified = true;
+        pojo.tags = new ArrayList<>();
+        pojo.items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            pojo.tags.add("tag" + i);
+            pojo.items.add(createSmallPojo());
+        }
+        return pojo;
+    }
+
+    @GenerateCodec
+    public static final class SmallPojo {
+        private String name;
+        private int count;
+        private double score;
+        private boolean active;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(final int count) {
+            this.count = count;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(final double score) {
+            this.score = score;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(final boolean active) {
+            this.active = active;
+        }
+    }
+
+    @GenerateCodec
+    public static final class LargePojo {
+        public String firstName;
+        public String lastName;
+        public String email;
+        public String city;
+        public String country;
+        public int age;
+        public int visits;
+        public double height;
+        public double weight;
+        public long createdAt;
+        public long updatedAt;
+        public boolean verified;
+        public List<String> tags;
+        public List<SmallPojo> items;
+    }
+}
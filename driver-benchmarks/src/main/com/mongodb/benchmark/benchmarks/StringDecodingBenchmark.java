@@ -0,0 +1,85 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.benchmark.benchmarks;
+
+import com.mongodb.benchmark.framework.Benchmark;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Measures the throughput of decoding a document containing a single string field, read from either a heap or a direct buffer.
+ */
+public class StringDecodingBenchmark extends Benchmark {
+
+    private final String name;
+    private final String value;
+    private final boolean direct;
+    private ByteBuffer documentBuffer;
+
+    public StringDecodingBenchmark(final String name, final String value, final boolean direct) {
+        this.name = name;
+        this.value = value;
+        this.direct = direct;
+    }
+
+    @Override
+    public void setUp() {
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+            writer.writeStartDocument();
+            writer.writeString("value", value);
+            writer.writeEndDocument();
+        }
+        byte[] bytes = outputBuffer.toByteArray();
+        documentBuffer = direct ? ByteBuffer.allocateDirect(bytes.length) : ByteBuffer.allocate(bytes.length);
+        documentBuffer.put(bytes);
+        documentBuffer.flip();
+    }
+
+    @Override
+    public String getName() {
+        return name + " string decoding (" + (direct ? "direct" : "heap") + " buffer)";
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < NUM_INTERNAL_ITERATIONS; i++) {
+            try (BsonBinaryReader reader = new BsonBinaryReader(documentBuffer.duplicate())) {
+                reader.readStartDocument();
+                reader.readName();
+                reader.readString();
+                reader.readEndDocument();
+            }
+        }
+    }
+
+    @Override
+    public int getBytesPerRun() {
+        return documentBuffer.limit() * NUM_INTERNAL_ITERATIONS;
+    }
+
+    static String repeat(final String string, final int count) {
+        StringBuilder builder = new StringBuilder(string.length() * count);
+        for (int i = 0; i < count; i++) {
+            builder.append(string);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.benchmark.benchmarks;
+
+import com.github.luben.zstd.Zstd;
+import com.mongodb.ZstdDictionaryCodec;
+import com.mongodb.benchmark.framework.Benchmark;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the throughput of compressing or decompressing small, repetitive documents with zstd, one document at a time, either with a
+ * dictionary trained on similar documents or without one. The bytes per run are those of the uncompressed documents.
+ */
+public class ZstdDictionaryBenchmark extends Benchmark {
+    private static final int NUM_DOCUMENTS = 1000;
+    private static final int NUM_TRAINING_DOCUMENTS = 10000;
+    private static final int MAX_DICTIONARY_SIZE = 8192;
+    private static final String[] STATUSES = {"PENDING", "PAID", "SHIPPED", "DELIVERED", "CANCELLED"};
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP"};
+
+    private final boolean dictionary;
+    private final boolean decoding;
+    private Codec<Document> codec;
+    private List<Document> documents;
+    private List<byte[]> encodedDocuments;
+    private int bytesPerRun;
+
+    public ZstdDictionaryBenchmark(final boolean dictionary, final boolean decoding) {
+        this.dictionary = dictionary;
+        this.decoding = decoding;
+    }
+
+    @Override
+    public void setUp() {
+        DocumentCodec documentCodec = new DocumentCodec();
+        codec = dictionary
+                ? new ZstdDictionaryCodec<>(documentCodec, ZstdDictionaryCodec.trainDictionary(documentCodec,
+                        createDocuments(1, NUM_TRAINING_DOCUMENTS), MAX_DICTIONARY_SIZE))
+                : new ZstdCodec(documentCodec);
+        documents = createDocuments(2, NUM_DOCUMENTS);
+        encodedDocuments = new ArrayList<>(NUM_DOCUMENTS);
+        int documentsSize = 0;
+        for (Document document : documents) {
+            encodedDocuments.add(encode(codec, document));
+            documentsSize += encode(documentCodec, document).length;
+        }
+        bytesPerRun = documentsSize * (NUM_INTERNAL_ITERATIONS / NUM_DOCUMENTS);
+    }
+
+    @Override
+    public String getName() {
+        return "Small document zstd " + (dictionary ? "dictionary " : "") + (decoding ? "decoding" : "encoding");
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < NUM_INTERNAL_ITERATIONS; i++) {
+            if (decoding) {
+                try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(encodedDocuments.get(i % NUM_DOCUMENTS)))) {
+                    reader.readStartDocument();
+                    reader.readName();
+                    codec.decode(reader, DecoderContext.builder().build());
+                    reader.readEndDocument();
+                }
+            } else {
+                encode(codec, documents.get(i % NUM_DOCUMENTS));
+            }
+        }
+    }
+
+    @Override
+    public int getBytesPerRun() {
+        return bytesPerRun;
+    }
+
+    private static byte[] encode(final Codec<Document> codec, final Document document) {
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+            writer.writeStartDocument();
+            writer.writeName("value");
+            codec.encode(writer, document, EncoderContext.builder().build());
+            writer.writeEndDocument();
+        }
+        return outputBuffer.toByteArray();
+    }
+
+    private static List<Document> createDocuments(final long seed, final int count) {
+        Random random = new Random(seed);
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(new Document("_id", new ObjectId())
+                    .append("customerId", 100_000 + random.nextInt(10_000))
+                    .append("status", STATUSES[random.nextInt(STATUSES.length)])
+                    .append("currency", CURRENCIES[random.nextInt(CURRENCIES.length)])
+                    .append("amount", random.nextInt(100_000) / 100.0)
+                    .append("items", random.nextInt(10) + 1)
+                    .append("express", random.nextBoolean())
+                    .append("createdAt", new Date(1_700_000_000_000L + random.nextInt(1_000_000_000))));
+        }
+        return documents;
+    }
+
+    /**
+     * Compresses each document on its own, without a dictionary.
+     */
+    private static final class ZstdCodec implements Codec<Document> {
+        private final DocumentCodec documentCodec;
+
+        ZstdCodec(final DocumentCodec documentCodec) {
+            this.documentCodec = documentCodec;
+        }
+
+        @Override
+        public void encode(final BsonWriter writer, final Document value, final EncoderContext encoderContext) {
+            BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+            try (BsonBinaryWriter documentWriter = new BsonBinaryWriter(outputBuffer)) {
+                documentCodec.encode(documentWriter, value, encoderContext);
+            }
+            writer.writeBinaryData(new BsonBinary(Zstd.compress(outputBuffer.toByteArray())));
+        }
+
+        @Override
+        public Document decode(final BsonReader reader, final DecoderContext decoderContext) {
+            byte[] compressed = reader.readBinaryData().getData();
+            byte[] uncompressed = Zstd.decompress(compressed, (int) Zstd.decompressedSize(compressed));
+            try (BsonBinaryReader documentReader = new BsonBinaryReader(ByteBuffer.wrap(uncompressed))) {
+                return documentCodec.decode(documentReader, decoderContext);
+            }
+        }
+
+        @Override
+        public Class<Document> getEncoderClass() {
+            return Document.class;
+        }
+    }
+}
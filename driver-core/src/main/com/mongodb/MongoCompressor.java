@@ -37,6 +37,18 @@ public final class MongoCompressor {
      */
     public static final String LEVEL = "LEVEL";
 
+    /**
+     * The property key for making a compressor a candidate for adaptive selection.
+     *
+     * <p>When at least one of the compressors negotiated with the server has this property set to {@code true}, each connection chooses
+     * per command, based on the compression ratio and the time spent compressing and decompressing that it measures, between sending
+     * the command uncompressed and compressing it with one of those candidates. Otherwise, the first negotiated compressor is used for
+     * every command.</p>
+     *
+     * @since 5.2
+     */
+    public static final String ADAPTIVE = "ADAPTIVE";
+
     private final String name;
     private final Map<String, Object> properties;
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdException;
+import com.mongodb.connection.ServerDescription;
+import org.bson.BsonBinary;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonReader;
+import org.bson.BsonSerializationException;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mongodb.assertions.Assertions.isTrueArgument;
+import static com.mongodb.assertions.Assertions.notNull;
+import static java.lang.String.format;
+
+/**
+ * A codec that stores values as binary data compressed with zstd and a dictionary, which an application can train on sample values
+ * with {@link #trainDictionary(Codec, Iterable, int)}.
+ *
+ * <p>Compressing each message with zstd saves little on small documents, because every message must restate the field names and
+ * common string values that a dictionary holds once. MongoDB does not support zstd dictionaries in the wire protocol, so this codec
+ * applies one at the application layer, to the values of a field: a value is encoded by the wrapped codec as the single field of a
+ * document, which is compressed with the dictionary and written as binary data. Applications must keep the dictionary for as long as
+ * they keep values compressed with it.</p>
+ *
+ * <p>This codec requires the optional {@code com.github.luben:zstd-jni} dependency.</p>
+ *
+ * @param <T> the type of the values
+ * @since 5.2
+ */
+public final class ZstdDictionaryCodec<T> implements Codec<T> {
+    private static final String VALUE_FIELD_NAME = "";
+
+    private final Codec<T> wrappedCodec;
+    private final ZstdDictCompress compressionDictionary;
+    private final ZstdDictDecompress decompressionDictionary;
+    private final long dictionaryId;
+    private final int maxDecompressedSize;
+
+    /**
+     * Trains a dictionary on sample values.
+     *
+     * <p>Training needs a sample set that is large compared to the dictionary, typically at least a hundred times larger, and fails
+     * otherwise.</p>
+     *
+     * @param codec the codec that encodes the values
+     * @param samples the sample values
+     * @param maxDictionarySize the maximum size of the dictionary in bytes
+     * @param <T> the type of the values
+     * @return the dictionary
+     * @throws MongoClientException if there are not enough samples to train a dictionary
+     */
+    public static <T> byte[] trainDictionary(final Codec<T> codec, final Iterable<? extends T> samples, final int maxDictionarySize) {
+        notNull("codec", codec);
+        notNull("samples", samples);
+        isTrueArgument("maxDictionarySize > 0", maxDictionarySize > 0);
+        List<byte[]> encodedSamples = new ArrayList<>();
+        int totalSize = 0;
+        for (T sample : samples) {
+            byte[] encodedSample = encodeValue(codec, sample, EncoderContext.builder().build());
+            encodedSamples.add(encodedSample);
+            totalSize += encodedSample.length;
+        }
+        ZstdDictTrainer trainer = new ZstdDictTrainer(totalSize, maxDictionarySize);
+        for (byte[] encodedSample : encodedSamples) {
+            trainer.addSample(encodedSample);
+        }
+        try {
+            return trainer.trainSamples();
+        } catch (ZstdException e) {
+            throw new MongoClientException(format("Unable to train a zstd dictionary on %d samples: %s", encodedSamples.size(),
+                    e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Construct an instance that compresses with the default zstd compression level.
+     *
+     * @param wrappedCodec the codec that encodes the values before they are compressed
+     * @param dictionary the dictionary
+     */
+    public ZstdDictionaryCodec(final Codec<T> wrappedCodec, final byte[] dictionary) {
+        this(wrappedCodec, dictionary, Zstd.defaultCompressionLevel());
+    }
+
+    /**
+     * Construct an instance that decodes values of up to the default maximum size of a BSON document, 16MB, once decompressed.
+     *
+     * @param wrappedCodec the codec that encodes the values before they are compressed
+     * @param dictionary the dictionary
+     * @param level the zstd compression level
+     */
+    public ZstdDictionaryCodec(final Codec<T> wrappedCodec, final byte[] dictionary, final int level) {
+        this(wrappedCodec, dictionary, level, ServerDescription.getDefaultMaxDocumentSize());
+    }
+
+    /**
+     * Construct an instance.
+     *
+     * @param wrappedCodec the codec that encodes the values before they are compressed
+     * @param dictionary the dictionary
+     * @param level the zstd compression level
+     * @param maxDecompressedSize the maximum size in bytes of a value, once decompressed, that this codec decodes. Decoding a larger value
+     * throws {@link BsonSerializationException} rather than allocating memory for it.
+     */
+    public ZstdDictionaryCodec(final Codec<T> wrappedCodec, final byte[] dictionary, final int level, final int maxDecompressedSize) {
+        this.wrappedCodec = notNull("wrappedCodec", wrappedCodec);
+        notNull("dictionary", dictionary);
+        isTrueArgument("maxDecompressedSize > 0", maxDecompressedSize > 0);
+        compressionDictionary = new ZstdDictCompress(dictionary, level);
+        decompressionDictionary = new ZstdDictDecompress(dictionary);
+        dictionaryId = Zstd.getDictIdFromDict(dictionary);
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    @Override
+    public void encode(final BsonWriter writer, final T value, final EncoderContext encoderContext) {
+        byte[] compressed = Zstd.compress(encodeValue(wrappedCodec, value, encoderContext), compressionDictionary);
+        writer.writeBinaryData(new BsonBinary(BsonBinarySubType.BINARY, compressed));
+    }
+
+    @Override
+    public T decode(final BsonReader reader, final DecoderContext decoderContext) {
+        byte[] compressed = reader.readBinaryData().getData();
+        long frameDictionaryId = Zstd.getDictIdFromFrame(compressed);
+        if (frameDictionaryId != dictionaryId) {
+            throw new BsonSerializationException(format("The value was compressed with zstd dictionary %d rather than %d",
+                    frameDictionaryId, dictionaryId));
+        }
+        long size = Zstd.decompressedSize(compressed);
+        if (size <= 0) {
+            throw new BsonSerializationException("The size of the value is missing from its zstd frame");
+        }
+        if (size > maxDecompressedSize) {
+            throw new BsonSerializationException(format("The size of the value, %d, is larger than the maximum size of %d",
+                    size, maxDecompressedSize));
+        }
+        byte[] encoded = Zstd.decompress(compressed, decompressionDictionary, (int) size);
+        try (BsonBinaryReader valueReader = new BsonBinaryReader(ByteBuffer.wrap(encoded))) {
+            valueReader.readStartDocument();
+            valueReader.readName();
+            T value = decoderContext.decodeWithChildContext(wrappedCodec, valueReader);
+            valueReader.readEndDocument();
+            return value;
+        }
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return wrappedCodec.getEncoderClass();
+    }
+
+    private static <T> byte[] encodeValue(final Codec<T> codec, final T value, final EncoderContext encoderContext) {
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+            writer.writeStartDocument();
+            writer.writeName(VALUE_FIELD_NAME);
+            encoderContext.encodeWithChildContext(codec, writer, value);
+            writer.writeEndDocument();
+        }
+        return outputBuffer.toByteArray();
+    }
+}
@@ -52,6 +52,7 @@ public class ConnectionPoolSettings {
     private final long maintenanceInitialDelayMS;
     private final long maintenanceFrequencyMS;
     private final int maxConnecting;
+    private final boolean adaptiveMinSize;
 
     /**
      * Gets a Builder for creating a new ConnectionPoolSettings instance.
@@ -87,6 +88,7 @@ public class ConnectionPoolSettings {
         private long maintenanceInitialDelayMS;
         private long maintenanceFrequencyMS = MILLISECONDS.convert(1, MINUTES);
         private int maxConnecting = 2;
+        private boolean adaptiveMinSize;
 
         Builder() {
         }
@@ -111,6 +113,7 @@ public class ConnectionPoolSettings {
             maintenanceInitialDelayMS = connectionPoolSettings.maintenanceInitialDelayMS;
             maintenanceFrequencyMS = connectionPoolSettings.maintenanceFrequencyMS;
             maxConnecting = connectionPoolSettings.maxConnecting;
+            adaptiveMinSize = connectionPoolSettings.adaptiveMinSize;
             return this;
         }
 
@@ -272,6 +275,21 @@ public class ConnectionPoolSettings {
             return this;
         }
 
+        /**
+         * Sets whether the pool adapts its minimum size to the load it observes.
+         *
+         * <p>Default is {@code false}.</p>
+         *
+         * @param adaptiveMinSize whether the pool adapts its minimum size to the load it observes
+         * @return {@code this}.
+         * @see ConnectionPoolSettings#isAdaptiveMinSize()
+         * @since 5.2
+         */
+        public Builder adaptiveMinSize(final boolean adaptiveMinSize) {
+            this.adaptiveMinSize = adaptiveMinSize;
+            return this;
+        }
+
         /**
          * Creates a new ConnectionPoolSettings object with the settings initialised on this builder.
          *
@@ -456,6 +474,26 @@ public class ConnectionPoolSettings {
         return maxConnecting;
     }
 
+    /**
+     * Whether the pool adapts its minimum size to the load it observes.
+     * <p>
+     * If enabled, each maintenance run raises the minimum size to the highest number of connections that were in use at the same time
+     * since the previous run, so that connections for a recurring burst are opened in the background rather than when the burst
+     * arrives. When the load drops, the minimum size decays by half of the difference per maintenance run, and idle connections above
+     * it that were not used since the previous run are closed. The minimum size never goes below {@link #getMinSize()} or above
+     * {@link #getMaxSize()}.</p>
+     * <p>
+     * Default is {@code false}.</p>
+     *
+     * @return whether the pool adapts its minimum size to the load it observes
+     * @see Builder#adaptiveMinSize(boolean)
+     * @see #getMaintenanceFrequency(TimeUnit)
+     * @since 5.2
+     */
+    public boolean isAdaptiveMinSize() {
+        return adaptiveMinSize;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -494,6 +532,9 @@ public class ConnectionPoolSettings {
         if (maxConnecting != that.maxConnecting) {
             return false;
         }
+        if (adaptiveMinSize != that.adaptiveMinSize) {
+            return false;
+        }
         return true;
     }
 
@@ -508,6 +549,7 @@ public class ConnectionPoolSettings {
         result = 31 * result + (int) (maintenanceFrequencyMS ^ (maintenanceFrequencyMS >>> 32));
         result = 31 * result + connectionPoolListeners.hashCode();
         result = 31 * result + maxConnecting;
+        result = 31 * result + (adaptiveMinSize ? 1 : 0);
         return result;
     }
 
@@ -523,6 +565,7 @@ public class ConnectionPoolSettings {
                 + ", maintenanceFrequencyMS=" + maintenanceFrequencyMS
                 + ", connectionPoolListeners=" + connectionPoolListeners
                 + ", maxConnecting=" + maxConnecting
+                + ", adaptiveMinSize=" + adaptiveMinSize
                 + '}';
     }
 
@@ -545,5 +588,6 @@ public class ConnectionPoolSettings {
         maintenanceFrequencyMS = builder.maintenanceFrequencyMS;
         connectionPoolListeners = unmodifiableList(builder.connectionPoolListeners);
         maxConnecting = builder.maxConnecting;
+        adaptiveMinSize = builder.adaptiveMinSize;
     }
 }
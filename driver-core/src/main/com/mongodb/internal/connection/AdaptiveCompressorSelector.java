@@ -0,0 +1,244 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.annotations.NotThreadSafe;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.internal.diagnostics.logging.Logger;
+import com.mongodb.internal.diagnostics.logging.Loggers;
+import com.mongodb.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.mongodb.assertions.Assertions.isTrueArgument;
+import static com.mongodb.assertions.Assertions.notNull;
+import static com.mongodb.internal.connection.CompressedHeader.COMPRESSED_HEADER_LENGTH;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Chooses, for each command sent on a connection, between sending it uncompressed and compressing it with one of the candidate
+ * compressors.
+ *
+ * <p>For every command name and candidate, the selector keeps moving averages of the benefit of compressing the request and of the
+ * benefit of the compressed reply. The benefit of a message is the time that the bytes it saves would take on the network, minus the
+ * time spent compressing or decompressing it. A command is compressed with the candidate that has the highest positive benefit, and
+ * sent uncompressed if there is none. The server only compresses replies to compressed requests, so the reply benefit is what sending
+ * a small request uncompressed would give up. Each candidate is sampled {@value #MIN_SAMPLES} times before the first choice is made,
+ * and every {@value #EXPLORATION_INTERVAL}th command is compressed with one of the other candidates, in turn, so that the averages
+ * follow the data.</p>
+ *
+ * <p>A connection sends one command at a time, and the reply to a compressed command is attributed to the candidate it was compressed
+ * with.</p>
+ */
+@NotThreadSafe
+final class AdaptiveCompressorSelector {
+    private static final Logger LOGGER = Loggers.getLogger("connection");
+
+    // The time it takes to send a byte over a 1 Gbit/s network
+    static final double NANOS_PER_SAVED_BYTE = 8;
+    static final int MIN_SAMPLES = 4;
+    static final int EXPLORATION_INTERVAL = 16;
+    private static final int SMOOTHING_FACTOR = 8;
+    // Bounds the memory used by applications that run many distinct commands, which then share statistics
+    private static final int MAX_TRACKED_COMMANDS = 64;
+    private static final String UNTRACKED_COMMANDS = "";
+    private static final int UNDECIDED = -2;
+    private static final int UNCOMPRESSED = -1;
+
+    private final ConnectionId connectionId;
+    private final List<Compressor> candidates;
+    private final Map<String, CommandStatistics> commandStatistics;
+    @Nullable
+    private CandidateStatistics pending;
+    private long bytesSaved;
+    private long elapsedNanos;
+
+    AdaptiveCompressorSelector(final ConnectionId connectionId, final List<Compressor> candidates) {
+        isTrueArgument("candidates is not empty", !notNull("candidates", candidates).isEmpty());
+        this.connectionId = notNull("connectionId", connectionId);
+        this.candidates = new ArrayList<>(candidates);
+        commandStatistics = new HashMap<>();
+    }
+
+    /**
+     * Chooses how to send the next command.
+     *
+     * @param commandName the name of the command
+     * @return the compressor to compress the command with, or null to send it uncompressed
+     */
+    @Nullable
+    Compressor select(final String commandName) {
+        CommandStatistics statistics = getCommandStatistics(commandName);
+        int index = statistics.nextCandidate();
+        if (index == UNCOMPRESSED) {
+            pending = null;
+            return null;
+        }
+        pending = statistics.candidateStatistics[index];
+        return candidates.get(index);
+    }
+
+    /**
+     * Records the outcome of compressing the command that {@link #select(String)} chose a compressor for.
+     *
+     * @param uncompressedSize the size of the message before compression, including its header
+     * @param compressedSize the size of the compressed message, including its headers
+     * @param nanos the time spent compressing
+     */
+    void requestCompressed(final int uncompressedSize, final int compressedSize, final long nanos) {
+        recordSample(uncompressedSize - compressedSize, nanos, false);
+    }
+
+    /**
+     * Records the outcome of decompressing a reply.
+     *
+     * @param compressedSize the size of the compressed reply, excluding its headers
+     * @param uncompressedSize the size of the uncompressed reply, excluding its header
+     * @param nanos the time spent decompressing
+     */
+    void replyUncompressed(final int compressedSize, final int uncompressedSize, final long nanos) {
+        recordSample(uncompressedSize - compressedSize - COMPRESSED_HEADER_LENGTH, nanos, true);
+    }
+
+    /**
+     * @return the number of bytes that compression saved on this connection, which is negative if compressed messages were larger
+     */
+    long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * @return the time spent compressing and decompressing messages on this connection
+     */
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param commandName the name of the command
+     * @return the compressor currently chosen for the command, or null if it is sent uncompressed or no choice was made yet
+     */
+    @Nullable
+    Compressor getChosenCompressor(final String commandName) {
+        CommandStatistics statistics = commandStatistics.get(commandName);
+        return statistics == null || statistics.chosen < 0 ? null : candidates.get(statistics.chosen);
+    }
+
+    private void recordSample(final int savedBytes, final long nanos, final boolean reply) {
+        bytesSaved += savedBytes;
+        elapsedNanos += nanos;
+        CandidateStatistics localPending = pending;
+        if (localPending != null) {
+            localPending.addSample(savedBytes * NANOS_PER_SAVED_BYTE - nanos, reply);
+        }
+    }
+
+    private CommandStatistics getCommandStatistics(final String commandName) {
+        CommandStatistics statistics = commandStatistics.get(commandName);
+        if (statistics == null) {
+            String key = commandStatistics.size() < MAX_TRACKED_COMMANDS ? commandName : UNTRACKED_COMMANDS;
+            statistics = commandStatistics.computeIfAbsent(key, CommandStatistics::new);
+        }
+        return statistics;
+    }
+
+    private String getStrategyName(final int index) {
+        switch (index) {
+            case UNDECIDED:
+                return "sampling";
+            case UNCOMPRESSED:
+                return "no compression";
+            default:
+                return candidates.get(index).getName();
+        }
+    }
+
+    private final class CommandStatistics {
+        private final String commandName;
+        private final CandidateStatistics[] candidateStatistics;
+        private int countSinceExploration;
+        private int explored;
+        private int chosen;
+
+        CommandStatistics(final String commandName) {
+            this.commandName = commandName;
+            candidateStatistics = new CandidateStatistics[candidates.size()];
+            for (int i = 0; i < candidateStatistics.length; i++) {
+                candidateStatistics[i] = new CandidateStatistics();
+            }
+            chosen = UNDECIDED;
+        }
+
+        int nextCandidate() {
+            for (int i = 0; i < candidateStatistics.length; i++) {
+                if (candidateStatistics[i].requestSamples < MIN_SAMPLES) {
+                    return i;
+                }
+            }
+            int best = UNCOMPRESSED;
+            double bestBenefit = 0;
+            for (int i = 0; i < candidateStatistics.length; i++) {
+                double benefit = candidateStatistics[i].getBenefit();
+                if (benefit > bestBenefit) {
+                    best = i;
+                    bestBenefit = benefit;
+                }
+            }
+            if (best != chosen && LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Adaptive compression of %s commands on connection %s changed from %s to %s after saving %d bytes in %d"
+                                + " ms", commandName.equals(UNTRACKED_COMMANDS) ? "other" : "'" + commandName + "'", connectionId,
+                        getStrategyName(chosen), getStrategyName(best), bytesSaved, NANOSECONDS.toMillis(elapsedNanos)));
+            }
+            chosen = best;
+            if (++countSinceExploration == EXPLORATION_INTERVAL) {
+                countSinceExploration = 0;
+                explored = (explored + 1) % candidateStatistics.length;
+                if (explored == chosen && candidateStatistics.length > 1) {
+                    explored = (explored + 1) % candidateStatistics.length;
+                }
+                return explored;
+            }
+            return chosen;
+        }
+    }
+
+    private static final class CandidateStatistics {
+        private int requestSamples;
+        private int replySamples;
+        private double requestBenefit;
+        private double replyBenefit;
+
+        void addSample(final double benefit, final boolean reply) {
+            if (reply) {
+                replyBenefit = replySamples == 0 ? benefit : replyBenefit + (benefit - replyBenefit) / SMOOTHING_FACTOR;
+                replySamples = Math.min(replySamples + 1, MIN_SAMPLES);
+            } else {
+                requestBenefit = requestSamples == 0 ? benefit : requestBenefit + (benefit - requestBenefit) / SMOOTHING_FACTOR;
+                requestSamples = Math.min(requestSamples + 1, MIN_SAMPLES);
+            }
+        }
+
+        double getBenefit() {
+            return requestBenefit + replyBenefit;
+        }
+    }
+}
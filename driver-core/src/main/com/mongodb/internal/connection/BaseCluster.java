@@ -46,15 +46,19 @@ import com.mongodb.selector.ServerSelector;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
+import static com.mongodb.assertions.Assertions.assertNotNull;
 import static com.mongodb.assertions.Assertions.isTrue;
 import static com.mongodb.assertions.Assertions.notNull;
 import static com.mongodb.connection.ServerDescription.MAX_DRIVER_WIRE_VERSION;
@@ -118,56 +122,33 @@ abstract class BaseCluster implements Cluster {
     public ServerTuple selectServer(final ServerSelector serverSelector, final OperationContext operationContext) {
         isTrue("open", !isClosed());
 
-        try {
-            CountDownLatch currentPhase = phase.get();
-            ClusterDescription curDescription = description;
-            logServerSelectionStarted(clusterId, operationContext, serverSelector, curDescription);
-            ServerSelector compositeServerSelector = getCompositeServerSelector(serverSelector);
-            ServerTuple serverTuple = selectServer(compositeServerSelector, curDescription);
-
-            boolean selectionWaitingLogged = false;
-
-            long startTimeNanos = System.nanoTime();
-            long curTimeNanos = startTimeNanos;
-            Long maxWaitTimeNanos = getMaxWaitTimeNanos();
-
-            while (true) {
-                if (!curDescription.isCompatibleWithDriver()) {
-                    throw createAndLogIncompatibleException(operationContext, serverSelector, curDescription);
-                }
-
-                if (serverTuple != null) {
-                    logServerSelectionSucceeded(
-                            clusterId, operationContext, serverTuple.getServerDescription().getAddress(), serverSelector, curDescription);
-                    return serverTuple;
-                }
+        ClusterDescription currentDescription = description;
 
-                Long remainingTimeNanos = maxWaitTimeNanos == null ? null : maxWaitTimeNanos - (curTimeNanos - startTimeNanos);
+        logServerSelectionStarted(clusterId, operationContext, serverSelector, currentDescription);
+        SynchronousServerSelectionCallback callback = new SynchronousServerSelectionCallback();
+        ServerSelectionRequest request = new ServerSelectionRequest(operationContext, serverSelector,
+                getCompositeServerSelector(serverSelector), getMaxWaitTimeNanos(), callback);
 
-                if (remainingTimeNanos != null && remainingTimeNanos <= 0) {
-                    throw createAndLogTimeoutException(operationContext, serverSelector, curDescription);
-                }
+        if (!handleServerSelectionRequest(request, currentDescription, null)) {
+            notifyWaitQueueHandler(request);
+        }
 
-                if (!selectionWaitingLogged) {
-                    logServerSelectionWaiting(clusterId, operationContext, remainingTimeNanos, serverSelector, curDescription);
-                    selectionWaitingLogged = true;
+        try {
+            // The wait queue handler normally completes the request, but the selecting thread enforces the timeout and observes the
+            // closing of the cluster itself rather than relying only on the handler to do so
+            while (!callback.await(getWaitTimeNanos(request))) {
+                if (isClosed) {
+                    request.onResult(null, new MongoClientException("Shutdown in progress"));
+                } else if (request.timedOut()) {
+                    request.onResult(null, createAndLogTimeoutException(operationContext, serverSelector, description));
                 }
-
-                connect();
-
-                currentPhase.await(
-                        remainingTimeNanos == null ? getMinWaitTimeNanos() : Math.min(remainingTimeNanos, getMinWaitTimeNanos()),
-                        NANOSECONDS);
-
-                curTimeNanos = System.nanoTime();
-
-                currentPhase = phase.get();
-                curDescription = description;
-                serverTuple = selectServer(compositeServerSelector, curDescription);
             }
-
+            waitQueue.remove(request);
+            return callback.get();
         } catch (InterruptedException e) {
-            throw interruptAndCreateMongoInterruptedException(format("Interrupted while waiting for a server that matches %s", serverSelector), e);
+            waitQueue.remove(request);
+            throw interruptAndCreateMongoInterruptedException(
+                    format("Interrupted while waiting for a server that matches %s", serverSelector), e);
         }
     }
 
@@ -176,14 +157,13 @@ abstract class BaseCluster implements Cluster {
             final SingleResultCallback<ServerTuple> callback) {
         isTrue("open", !isClosed());
 
-        CountDownLatch currentPhase = phase.get();
         ClusterDescription currentDescription = description;
 
         logServerSelectionStarted(clusterId, operationContext, serverSelector, currentDescription);
-        ServerSelectionRequest request = new ServerSelectionRequest(operationContext, serverSelector, getCompositeServerSelector(serverSelector),
-                                                                    getMaxWaitTimeNanos(), callback);
+        ServerSelectionRequest request = new ServerSelectionRequest(operationContext, serverSelector,
+                getCompositeServerSelector(serverSelector), getMaxWaitTimeNanos(), callback);
 
-        if (!handleServerSelectionRequest(request, currentPhase, currentDescription)) {
+        if (!handleServerSelectionRequest(request, currentDescription, null)) {
             notifyWaitQueueHandler(request);
         }
     }
@@ -205,10 +185,21 @@ abstract class BaseCluster implements Cluster {
     @Override
     public void close() {
         if (!isClosed()) {
-            isClosed = true;
+            List<ServerSelectionRequest> abandonedRequests = new ArrayList<>();
+            // close and drain the wait queue under the lock, so that notifyWaitQueueHandler either fails a request itself or adds it
+            // before the queue is drained
+            withLock(() -> {
+                isClosed = true;
+                for (ServerSelectionRequest request = waitQueue.poll(); request != null; request = waitQueue.poll()) {
+                    abandonedRequests.add(request);
+                }
+                stopWaitQueueHandler();
+            });
             phase.get().countDown();
+            for (ServerSelectionRequest request : abandonedRequests) {
+                request.onResult(null, new MongoClientException("Shutdown in progress"));
+            }
             clusterListener.clusterClosed(new ClusterClosedEvent(clusterId));
-            stopWaitQueueHandler();
         }
     }
 
@@ -265,25 +256,38 @@ abstract class BaseCluster implements Cluster {
         return serverFactory.getSettings().getMinHeartbeatFrequency(NANOSECONDS);
     }
 
-    private boolean handleServerSelectionRequest(final ServerSelectionRequest request, final CountDownLatch currentPhase,
-                                                 final ClusterDescription description) {
+    private long getWaitTimeNanos(final ServerSelectionRequest request) {
+        Long remainingTimeNanos = request.getRemainingTime();
+        return remainingTimeNanos == null ? getMinWaitTimeNanos() : Math.max(remainingTimeNanos, 0);
+    }
+
+    /**
+     * Selects a server for the {@code request} if the cluster description has changed since the request was last handled.
+     *
+     * @param selectionCache If not {@code null}, caches the servers chosen by each distinct selector from the {@code description},
+     * so that a selector shared by many waiting requests is evaluated only once per cluster description change.
+     * @return {@code true} iff the {@code request} has been completed.
+     */
+    private boolean handleServerSelectionRequest(final ServerSelectionRequest request, final ClusterDescription description,
+                                                 @Nullable final Map<ServerSelector, List<ServerDescription>> selectionCache) {
         try {
-            if (currentPhase != request.phase) {
-                CountDownLatch prevPhase = request.phase;
-                request.phase = currentPhase;
+            if (description != request.description) {
+                ClusterDescription prevDescription = request.description;
+                request.description = description;
                 if (!description.isCompatibleWithDriver()) {
-                    request.onResult(null, createAndLogIncompatibleException(request.operationContext, request.originalSelector, description));
+                    request.onResult(null,
+                            createAndLogIncompatibleException(request.operationContext, request.originalSelector, description));
                     return true;
                 }
 
-                ServerTuple serverTuple = selectServer(request.compositeSelector, description);
+                ServerTuple serverTuple = selectServer(request.compositeSelector, description, selectionCache);
                 if (serverTuple != null) {
                     logServerSelectionSucceeded(clusterId, request.operationContext, serverTuple.getServerDescription().getAddress(),
                             request.originalSelector, description);
                     request.onResult(serverTuple, null);
                     return true;
                 }
-                if (prevPhase == null) {
+                if (prevDescription == null) {
                     logServerSelectionWaiting(
                             clusterId, request.operationContext, request.getRemainingTime(), request.originalSelector, description);
                 }
@@ -302,16 +306,25 @@ abstract class BaseCluster implements Cluster {
     }
 
     @Nullable
-    private ServerTuple selectServer(final ServerSelector serverSelector,
-            final ClusterDescription clusterDescription) {
-        return selectServer(serverSelector, clusterDescription, this::getServer);
+    private ServerTuple selectServer(final ServerSelector serverSelector, final ClusterDescription clusterDescription,
+            @Nullable final Map<ServerSelector, List<ServerDescription>> selectionCache) {
+        List<ServerDescription> serverDescriptions = selectionCache == null
+                ? serverSelector.select(clusterDescription)
+                : selectionCache.computeIfAbsent(serverSelector, selector -> selector.select(clusterDescription));
+        return selectServer(serverDescriptions, this::getServer);
     }
 
     @Nullable
     @VisibleForTesting(otherwise = PRIVATE)
     static ServerTuple selectServer(final ServerSelector serverSelector, final ClusterDescription clusterDescription,
             final Function<ServerAddress, Server> serverCatalog) {
-        return atMostNRandom(new ArrayList<>(serverSelector.select(clusterDescription)), 2, serverDescription -> {
+        return selectServer(serverSelector.select(clusterDescription), serverCatalog);
+    }
+
+    @Nullable
+    private static ServerTuple selectServer(final List<ServerDescription> serverDescriptions,
+            final Function<ServerAddress, Server> serverCatalog) {
+        return atMostNRandom(new ArrayList<>(serverDescriptions), 2, serverDescription -> {
             Server server = serverCatalog.apply(serverDescription.getAddress());
             return server == null ? null : new ServerTuple(server, serverDescription);
         }).stream()
@@ -404,7 +417,9 @@ abstract class BaseCluster implements Cluster {
         private final Long maxWaitTimeNanos;
         private final SingleResultCallback<ServerTuple> callback;
         private final long startTimeNanos = System.nanoTime();
-        private CountDownLatch phase;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        @Nullable
+        private ClusterDescription description;
 
         ServerSelectionRequest(final OperationContext operationContext,
                                final ServerSelector serverSelector, final ServerSelector compositeSelector,
@@ -418,7 +433,14 @@ abstract class BaseCluster implements Cluster {
             this.callback = callback;
         }
 
+        /**
+         * Completes the request, unless it has already been completed, e.g., by the thread selecting a server synchronously timing out
+         * while the {@link WaitQueueHandler} is handling the request.
+         */
         void onResult(@Nullable final ServerTuple serverTuple, @Nullable final Throwable t) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
             try {
                 callback.onResult(serverTuple, t);
             } catch (Throwable tr) {
@@ -437,9 +459,77 @@ abstract class BaseCluster implements Cluster {
         }
     }
 
+    /**
+     * A callback that lets a thread selecting a server synchronously block until the {@link WaitQueueHandler} completes its request.
+     * Unlike waiting for a {@link #phase} change, this wakes the thread only when a server matching its selector has been found,
+     * or the selection has failed.
+     */
+    private static final class SynchronousServerSelectionCallback implements SingleResultCallback<ServerTuple> {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final Thread selectingThread = Thread.currentThread();
+        @Nullable
+        private ServerTuple result;
+        @Nullable
+        private Throwable failure;
+        private boolean completedByAnotherThread;
+
+        @Override
+        public void onResult(@Nullable final ServerTuple result, @Nullable final Throwable t) {
+            this.result = result;
+            this.failure = t;
+            this.completedByAnotherThread = Thread.currentThread() != selectingThread;
+            latch.countDown();
+        }
+
+        /**
+         * @return {@code true} iff the request has been completed.
+         */
+        boolean await(final long timeoutNanos) throws InterruptedException {
+            return latch.await(timeoutNanos, NANOSECONDS);
+        }
+
+        /**
+         * Must only be called after {@link #await(long)} has returned {@code true}.
+         */
+        ServerTuple get() {
+            Throwable failure = completedByAnotherThread && this.failure != null
+                    ? recreateInSelectingThread(this.failure)
+                    : this.failure;
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw MongoException.fromThrowableNonNull(failure);
+            }
+            return assertNotNull(result);
+        }
+
+        /**
+         * Recreates a failure created by the {@link WaitQueueHandler} with the original failure as its cause, so that the stack trace
+         * of the exception thrown by {@link BaseCluster#selectServer(ServerSelector, OperationContext)} includes the frames of its caller.
+         * Other failures, e.g., exceptions thrown by a selector, are returned as is.
+         */
+        private static Throwable recreateInSelectingThread(final Throwable failure) {
+            Throwable recreated;
+            if (failure instanceof MongoTimeoutException) {
+                recreated = new MongoTimeoutException(failure.getMessage());
+            } else if (failure instanceof MongoIncompatibleDriverException) {
+                recreated = new MongoIncompatibleDriverException(failure.getMessage(),
+                        ((MongoIncompatibleDriverException) failure).getClusterDescription());
+            } else if (failure.getClass() == MongoClientException.class) {
+                recreated = new MongoClientException(failure.getMessage());
+            } else {
+                return failure;
+            }
+            return recreated.initCause(failure);
+        }
+    }
+
     private void notifyWaitQueueHandler(final ServerSelectionRequest request) {
         withLock(() -> {
             if (isClosed) {
+                request.onResult(null, new MongoClientException("Shutdown in progress"));
                 return;
             }
 
@@ -468,11 +558,12 @@ abstract class BaseCluster implements Cluster {
             while (!isClosed) {
                 CountDownLatch currentPhase = phase.get();
                 ClusterDescription curDescription = description;
+                Map<ServerSelector, List<ServerDescription>> selectionCache = new HashMap<>();
                 long waitTimeNanos = Long.MAX_VALUE;
 
                 for (Iterator<ServerSelectionRequest> iter = waitQueue.iterator(); iter.hasNext();) {
                     ServerSelectionRequest nextRequest = iter.next();
-                    if (handleServerSelectionRequest(nextRequest, currentPhase, curDescription)) {
+                    if (handleServerSelectionRequest(nextRequest, curDescription, selectionCache)) {
                         iter.remove();
                     } else {
                         Long remainingTimeNanos = nextRequest.getRemainingTime();
@@ -492,11 +583,7 @@ abstract class BaseCluster implements Cluster {
                     // The cluster has been closed and the while loop will exit.
                 }
             }
-            // Notify all remaining waiters that a shutdown is in progress
-            for (Iterator<ServerSelectionRequest> iter = waitQueue.iterator(); iter.hasNext();) {
-                iter.next().onResult(null, new MongoClientException("Shutdown in progress"));
-                iter.remove();
-            }
+            // close() has failed the remaining waiters, and no requests are added to the wait queue once the cluster is closed
         }
     }
 
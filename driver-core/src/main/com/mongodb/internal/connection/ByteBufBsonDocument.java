@@ -43,6 +43,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static com.mongodb.assertions.Assertions.assertNotNull;
 import static com.mongodb.assertions.Assertions.notNull;
@@ -231,6 +232,13 @@ final class ByteBufBsonDocument extends BsonDocument {
         return new ByteBufBsonDocumentKeySet();
     }
 
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super BsonValue> action) {
+        for (Entry<String, BsonValue> entry : entrySet()) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Override
     public boolean containsKey(final Object key) {
         if (key == null) {
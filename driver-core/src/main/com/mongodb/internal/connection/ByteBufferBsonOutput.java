@@ -76,6 +76,108 @@ public class ByteBufferBsonOutput extends OutputBuffer {
         position++;
     }
 
+    // The overrides below write straight into the current buffer when the value fits in it, rather than one byte at a time through
+    // writeByte, and fall back to the superclass otherwise.  Encoding a large batch is dominated by these small writes.
+
+    @Override
+    public void writeInt32(final int value) {
+        ensureOpen();
+
+        ByteBuf buf = getCurrentByteBuffer();
+        if (buf.remaining() < 4) {
+            super.writeInt32(value);
+            return;
+        }
+        buf.put((byte) value);
+        buf.put((byte) (value >> 8));
+        buf.put((byte) (value >> 16));
+        buf.put((byte) (value >> 24));
+        position += 4;
+    }
+
+    @Override
+    public void writeInt32(final int absolutePosition, final int value) {
+        ensureOpen();
+
+        int positionInCurrentBuffer = getPositionInCurrentBuffer(absolutePosition);
+        if (positionInCurrentBuffer < 0 || absolutePosition > position - 4) {
+            super.writeInt32(absolutePosition, value);
+            return;
+        }
+        ByteBuf buf = bufferList.get(curBufferIndex);
+        buf.put(positionInCurrentBuffer, (byte) value);
+        buf.put(positionInCurrentBuffer + 1, (byte) (value >> 8));
+        buf.put(positionInCurrentBuffer + 2, (byte) (value >> 16));
+        buf.put(positionInCurrentBuffer + 3, (byte) (value >> 24));
+    }
+
+    @Override
+    public void writeInt64(final long value) {
+        ensureOpen();
+
+        ByteBuf buf = getCurrentByteBuffer();
+        if (buf.remaining() < 8) {
+            super.writeInt64(value);
+            return;
+        }
+        for (int shift = 0; shift < 64; shift += 8) {
+            buf.put((byte) (value >> shift));
+        }
+        position += 8;
+    }
+
+    @Override
+    public void writeString(final String str) {
+        ensureOpen();
+
+        int length = str.length();
+        ByteBuf buf = getCurrentByteBuffer();
+        if (buf.remaining() - 5 < length || !isAscii(str, false)) {
+            super.writeString(str);
+            return;
+        }
+        int size = length + 1;
+        buf.put((byte) size);
+        buf.put((byte) (size >> 8));
+        buf.put((byte) (size >> 16));
+        buf.put((byte) (size >> 24));
+        putAscii(buf, str);
+        position += length + 5;
+    }
+
+    @Override
+    public void writeCString(final String value) {
+        ensureOpen();
+
+        int length = value.length();
+        ByteBuf buf = getCurrentByteBuffer();
+        if (buf.remaining() - 1 < length || !isAscii(value, true)) {
+            super.writeCString(value);
+            return;
+        }
+        putAscii(buf, value);
+        position += length + 1;
+    }
+
+    // Returns false if the superclass has to write the string, either because it needs multi-byte encoding or because it must be
+    // rejected for containing a null character
+    private static boolean isAscii(final String str, final boolean rejectNullCharacters) {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80 || (rejectNullCharacters && c == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void putAscii(final ByteBuf buf, final String str) {
+        for (int i = 0; i < str.length(); i++) {
+            buf.put((byte) str.charAt(i));
+        }
+        buf.put((byte) 0);
+    }
+
     private ByteBuf getCurrentByteBuffer() {
         ByteBuf curByteBuffer = getByteBufferAtIndex(curBufferIndex);
         if (curByteBuffer.hasRemaining()) {
@@ -117,11 +219,26 @@ public class ByteBufferBsonOutput extends OutputBuffer {
             throw new IllegalArgumentException(String.format("position must be <= %d but was %d", position - 1, absolutePosition));
         }
 
+        int positionInCurrentBuffer = getPositionInCurrentBuffer(absolutePosition);
+        if (positionInCurrentBuffer >= 0) {
+            bufferList.get(curBufferIndex).put(positionInCurrentBuffer, (byte) value);
+            return;
+        }
         BufferPositionPair bufferPositionPair = getBufferPositionPair(absolutePosition);
         ByteBuf byteBuffer = getByteBufferAtIndex(bufferPositionPair.bufferIndex);
         byteBuffer.put(bufferPositionPair.position++, (byte) value);
     }
 
+    // Most positional writes back-patch the size of a document that was just written, which is usually still in the current buffer, so
+    // check that before searching the buffer list.  Returns -1 if the position is before the start of the current buffer.
+    private int getPositionInCurrentBuffer(final int absolutePosition) {
+        if (bufferList.isEmpty()) {
+            return -1;
+        }
+        int currentBufferStartPosition = position - bufferList.get(curBufferIndex).position();
+        return absolutePosition >= currentBufferStartPosition ? absolutePosition - currentBufferStartPosition : -1;
+    }
+
     @Override
     public List<ByteBuf> getByteBuffers() {
         ensureOpen();
@@ -20,11 +20,9 @@ import com.mongodb.MongoInternalException;
 import org.bson.ByteBuf;
 import org.bson.io.BsonOutput;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 abstract class Compressor {
@@ -35,23 +33,34 @@ abstract class Compressor {
 
     abstract byte getId();
 
-    void compress(final List<ByteBuf> source, final BsonOutput target) {
-        BufferExposingByteArrayOutputStream baos = new BufferExposingByteArrayOutputStream(1024);
-        try (OutputStream outputStream = getOutputStream(baos)) {
-            byte[] scratch = new byte[BUFFER_SIZE];
-            for (ByteBuf cur : source) {
-                while (cur.hasRemaining()) {
-                    int numBytes = Math.min(cur.remaining(), scratch.length);
-                    cur.get(scratch, 0, numBytes);
-                    outputStream.write(scratch, 0, numBytes);
-                }
+    // Consumes the source buffers
+    abstract void compress(List<ByteBuf> source, BsonOutput target);
+
+    // Returns the remaining bytes of the source buffers as a single array-backed buffer, for compressors that need the whole message in
+    // one array.  Copies them only if there is more than one source buffer or it is not backed by an array.
+    static ByteBuffer getSingleHeapBuffer(final List<ByteBuf> source) {
+        if (source.size() == 1) {
+            ByteBuf buffer = source.get(0);
+            ByteBuffer nioBuffer = buffer.asNIO();
+            if (nioBuffer.hasArray()) {
+                // duplicate, since asNIO may return the buffer that backs the source, whose position is about to move
+                ByteBuffer singleHeapBuffer = nioBuffer.duplicate();
+                buffer.position(buffer.limit());
+                return singleHeapBuffer;
             }
-
-        } catch (IOException e) {
-            throw new MongoInternalException("Unexpected IOException", e);
         }
-        // ignore
-        target.writeBytes(baos.getInternalBytes(), 0, baos.size());
+        int uncompressedSize = 0;
+        for (ByteBuf cur : source) {
+            uncompressedSize += cur.remaining();
+        }
+        byte[] bytes = new byte[uncompressedSize];
+        int offset = 0;
+        for (ByteBuf cur : source) {
+            int remaining = cur.remaining();
+            cur.get(bytes, offset, remaining);
+            offset += remaining;
+        }
+        return ByteBuffer.wrap(bytes);
     }
 
     void uncompress(final ByteBuf source, final ByteBuf target) {
@@ -69,11 +78,6 @@ abstract class Compressor {
         // ignore
     }
 
-    // override this if not overriding the compress method
-    OutputStream getOutputStream(final OutputStream source) throws IOException {
-        throw new UnsupportedEncodingException();
-    }
-
     // override this if not overriding the uncompress method
     InputStream getInputStream(final InputStream source) throws IOException {
         throw new UnsupportedOperationException();
@@ -102,15 +106,4 @@ abstract class Compressor {
             throw new UnsupportedOperationException();
         }
     }
-
-    // Just so we don't have to copy the buffer
-    private static final class BufferExposingByteArrayOutputStream extends ByteArrayOutputStream {
-        BufferExposingByteArrayOutputStream(final int size) {
-            super(size);
-        }
-
-        byte[] getInternalBytes() {
-            return buf;
-        }
-    }
 }
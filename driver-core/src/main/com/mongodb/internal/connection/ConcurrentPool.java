@@ -36,6 +36,7 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.mongodb.assertions.Assertions.assertNotNull;
@@ -199,6 +200,29 @@ public class ConcurrentPool<T> implements Pool<T> {
         }
     }
 
+    /**
+     * Close available items accepted by {@code prunable}, least recently released first,
+     * until {@link #getCount()} is not greater than {@code size}.
+     *
+     * @param beforeClose An action applied to each item removed from this pool right before it is closed. Must not throw {@link Exception}s.
+     */
+    public void pruneToSize(final int size, final Predicate<T> prunable, final Consumer<T> beforeClose) {
+        // restrict number of iterations to the current size in order to avoid an infinite loop in the presence of concurrent releases
+        // back to the pool
+        int maxIterations = available.size();
+        int numIterations = 0;
+        for (T cur : available) {
+            if (numIterations == maxIterations || getCount() <= size) {
+                break;
+            }
+            if (prunable.test(cur) && available.remove(cur)) {
+                beforeClose.accept(cur);
+                close(cur);
+            }
+            numIterations++;
+        }
+    }
+
 
     /**
      * Try to populate this pool with items so that {@link #getCount()} is not smaller than {@code minSize}.
@@ -213,6 +237,11 @@ public class ConcurrentPool<T> implements Pool<T> {
             if (!stateAndPermits.acquirePermit(0, TimeUnit.MILLISECONDS)) {
                 break;
             }
+            if (getCount() > minSize) {
+                // a concurrent call has populated the pool while this call was acquiring the permit
+                stateAndPermits.releasePermit();
+                continue;
+            }
             initAndRelease.accept(createNewAndReleasePermitIfFailure());
         }
     }
@@ -321,7 +350,7 @@ public class ConcurrentPool<T> implements Pool<T> {
         private volatile boolean paused;
         private volatile boolean closed;
         private final int maxPermits;
-        private volatile int permits;
+        private final AtomicInteger permits;
         /** When there are not enough available permits to serve all threads requesting a permit, threads are queued and wait on
          * {@link #permitAvailableOrClosedOrPausedCondition}. Because of this waiting, we want threads to acquire the lock fairly,
          * to avoid a situation when some threads are sitting in the queue for a long time while others barge in and acquire
@@ -346,6 +375,13 @@ public class ConcurrentPool<T> implements Pool<T> {
          * But it appears to be a good enough compromise, that results in having enough throughput when there are enough
          * available permits and tolerable high percentiles of latencies when there are not enough available permits.</p>
          * <p>
+         * When there are likely no waiters, a permit is acquired and released without acquiring the lock at all, so that a thread
+         * that checks a connection in and out again, e.g., a thread serving one request at a time, does not contend with other threads
+         * on the lock. A thread increments {@link #waitersEstimate} before it checks {@link #permits} for the last time and starts
+         * waiting, and a thread that released a permit checks {@link #waitersEstimate} after incrementing {@link #permits},
+         * hence either the waiting thread observes the released permit, or the releasing thread observes the waiting thread and
+         * signals it while holding the lock.</p>
+         * <p>
          * It may seem viable to use {@link #permits} > 0 as a way to decide that there are likely no waiters,
          * but benchmarking shows that with this approach high percentiles of contended {@link #acquirePermit(long, TimeUnit)} latencies
          * (when the number of threads that use the pool is higher than the maximum pool size) become similar to a situation when no
@@ -362,25 +398,19 @@ public class ConcurrentPool<T> implements Pool<T> {
             paused = false;
             closed = false;
             this.maxPermits = maxPermits;
-            permits = maxPermits;
+            permits = new AtomicInteger(maxPermits);
             waitersEstimate = new AtomicInteger();
             causeSupplier = null;
         }
 
         int permits() {
-            return permits;
+            return permits.get();
         }
 
         boolean acquirePermitImmediateUnfair() {
             return withUnfairLock(lock, () -> {
                 throwIfClosedOrPaused();
-                if (permits > 0) {
-                    //noinspection NonAtomicOperationOnVolatileField
-                    permits--;
-                    return true;
-                } else {
-                    return false;
-                }
+                return tryDecrementPermits();
             });
         }
 
@@ -391,6 +421,12 @@ public class ConcurrentPool<T> implements Pool<T> {
          * @param timeout See {@link Timeout#started(long, TimeUnit, TimePoint)}.
          */
         boolean acquirePermit(final long timeout, final TimeUnit unit) throws MongoInterruptedException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw interruptAndCreateMongoInterruptedException(null, null);
+            }
+            if (tryAcquirePermitWithoutLock()) {
+                return true;
+            }
             long remainingNanos = unit.toNanos(timeout);
             if (waitersEstimate.get() == 0) {
                 lockInterruptiblyUnfair(lock);
@@ -398,11 +434,13 @@ public class ConcurrentPool<T> implements Pool<T> {
                 lockInterruptibly(lock);
             }
             try {
-                while (permits == 0
-                        // the absence of short-circuiting is of importance
-                        & !throwIfClosedOrPaused()) {
+                throwIfClosedOrPaused();
+                while (!tryDecrementPermits()) {
+                    waitersEstimate.incrementAndGet();
                     try {
-                        waitersEstimate.incrementAndGet();
+                        if (tryDecrementPermits()) {
+                            return true;
+                        }
                         if (timeout < 0 || remainingNanos == Long.MAX_VALUE) {
                             permitAvailableOrClosedOrPausedCondition.await();
                         } else if (remainingNanos >= 0) {
@@ -415,23 +453,38 @@ public class ConcurrentPool<T> implements Pool<T> {
                     } finally {
                         waitersEstimate.decrementAndGet();
                     }
+                    throwIfClosedOrPaused();
                 }
-                assertTrue(permits > 0);
-                //noinspection NonAtomicOperationOnVolatileField
-                permits--;
                 return true;
             } finally {
                 lock.unlock();
             }
         }
 
+        /**
+         * Acquires a permit without acquiring the {@link #lock} if there are likely no waiters,
+         * and the pool is neither {@linkplain #close() closed} nor {@linkplain #pause(Supplier) paused}.
+         */
+        private boolean tryAcquirePermitWithoutLock() {
+            return waitersEstimate.get() == 0 && !closed && !paused && tryDecrementPermits();
+        }
+
+        private boolean tryDecrementPermits() {
+            int currentPermits = permits.get();
+            while (currentPermits > 0) {
+                if (permits.compareAndSet(currentPermits, currentPermits - 1)) {
+                    return true;
+                }
+                currentPermits = permits.get();
+            }
+            return false;
+        }
+
         void releasePermit() {
-            withUnfairLock(lock, () -> {
-                assertTrue(permits < maxPermits);
-                //noinspection NonAtomicOperationOnVolatileField
-                permits++;
-                permitAvailableOrClosedOrPausedCondition.signal();
-            });
+            assertTrue(permits.incrementAndGet() <= maxPermits);
+            if (waitersEstimate.get() > 0) {
+                withUnfairLock(lock, permitAvailableOrClosedOrPausedCondition::signal);
+            }
         }
 
         void pause(final Supplier<MongoException> causeSupplier) {
@@ -71,12 +71,14 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -142,6 +144,8 @@ final class DefaultConnectionPool implements ConnectionPool {
     private final OpenConcurrencyLimiter openConcurrencyLimiter;
     private final StateAndGeneration stateAndGeneration;
     private final OptionalProvider<SdamServerDescriptionManager> sdamProvider;
+    @Nullable
+    private final AdaptiveMinSize adaptiveMinSize;
 
     @VisibleForTesting(otherwise = PRIVATE)
     DefaultConnectionPool(final ServerId serverId, final InternalConnectionFactory internalConnectionFactory,
@@ -174,6 +178,7 @@ final class DefaultConnectionPool implements ConnectionPool {
         openConcurrencyLimiter = new OpenConcurrencyLimiter(settings.getMaxConnecting());
         asyncWorkManager = new AsyncWorkManager(internalSettings.isPrestartAsyncWorkManager());
         stateAndGeneration = new StateAndGeneration();
+        adaptiveMinSize = settings.isAdaptiveMinSize() ? new AdaptiveMinSize() : null;
         connectionGenerationSupplier = new ConnectionGenerationSupplier() {
             @Override
             public int getGeneration() {
@@ -415,37 +420,87 @@ final class DefaultConnectionPool implements ConnectionPool {
                         || e instanceof MongoConnectionPoolClearedException || ConcurrentPool.isPoolClosedException(e);
         try {
             pool.prune();
-            if (shouldEnsureMinSize()) {
-                pool.ensureMinSize(settings.getMinSize(), newConnection -> {
-                    try {
-                        openConcurrencyLimiter.openImmediatelyAndTryHandOverOrRelease(new PooledConnection(newConnection));
-                    } catch (MongoException | MongoOpenConnectionInternalException e) {
-                        RuntimeException actualException = e instanceof MongoOpenConnectionInternalException
-                                ? (RuntimeException) e.getCause()
-                                : e;
-                        try {
-                            sdamProvider.optional().ifPresent(sdam -> {
-                                if (!silentlyComplete.test(actualException)) {
-                                    sdam.handleExceptionBeforeHandshake(SdamIssue.specific(actualException, sdam.context(newConnection)));
-                                }
-                            });
-                        } catch (Exception suppressed) {
-                            actualException.addSuppressed(suppressed);
-                        }
-                        throw actualException;
-                    }
-                });
+            int minSize = settings.getMinSize();
+            if (adaptiveMinSize != null) {
+                minSize = adaptiveMinSize.update();
+                pool.pruneToSize(minSize, this::idleSinceLastMaintenance, UsageTrackingInternalConnection::setPrunedAsIdle);
+            }
+            if (minSize > 0) {
+                // open the first missing connection alone, so that a run makes a single attempt while the server is unavailable
+                ensureMinSize(Math.min(minSize, pool.getCount() + 1), silentlyComplete);
+                ensureMinSizeConcurrently(minSize, silentlyComplete);
             }
         } catch (Exception e) {
-            if (!silentlyComplete.test(e)) {
-                LOGGER.warn("Exception thrown during connection pool background maintenance task", e);
+            if (logMaintenanceFailure(e, silentlyComplete)) {
                 throw e;
             }
         }
     }
 
-    private boolean shouldEnsureMinSize() {
-        return settings.getMinSize() > 0;
+    /**
+     * Opens up to {@link ConnectionPoolSettings#getMaxConnecting()} connections concurrently, so that a pool far below its minimum size,
+     * e.g., a new one, is populated before the first operations need the connections.
+     * Returns only after all the connections have been opened, so that the opening never overlaps the next maintenance run.
+     */
+    private void ensureMinSizeConcurrently(final int minSize, final Predicate<Exception> silentlyComplete) {
+        int numHelpers = Math.min(settings.getMaxConnecting(), minSize - pool.getCount()) - 1;
+        List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 0; i < numHelpers; i++) {
+            Future<?> helper = backgroundMaintenance.submitOpener(() -> ensureMinSize(minSize, silentlyComplete));
+            if (helper != null) {
+                helpers.add(helper);
+            }
+        }
+        try {
+            ensureMinSize(minSize, silentlyComplete);
+        } finally {
+            for (Future<?> helper : helpers) {
+                try {
+                    helper.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        logMaintenanceFailure((Exception) e.getCause(), silentlyComplete);
+                    } else {
+                        throw (Error) e.getCause();
+                    }
+                } catch (InterruptedException e) {
+                    throw interruptAndCreateMongoInterruptedException(null, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} iff {@code e} was logged, i.e., {@code silentlyComplete} does not accept it.
+     */
+    private static boolean logMaintenanceFailure(final Exception e, final Predicate<Exception> silentlyComplete) {
+        if (silentlyComplete.test(e)) {
+            return false;
+        }
+        LOGGER.warn("Exception thrown during connection pool background maintenance task", e);
+        return true;
+    }
+
+    private void ensureMinSize(final int minSize, final Predicate<Exception> silentlyComplete) {
+        pool.ensureMinSize(minSize, newConnection -> {
+            try {
+                openConcurrencyLimiter.openImmediatelyAndTryHandOverOrRelease(new PooledConnection(newConnection));
+            } catch (MongoException | MongoOpenConnectionInternalException e) {
+                RuntimeException actualException = e instanceof MongoOpenConnectionInternalException
+                        ? (RuntimeException) e.getCause()
+                        : e;
+                try {
+                    sdamProvider.optional().ifPresent(sdam -> {
+                        if (!silentlyComplete.test(actualException)) {
+                            sdam.handleExceptionBeforeHandshake(SdamIssue.specific(actualException, sdam.context(newConnection)));
+                        }
+                    });
+                } catch (Exception suppressed) {
+                    actualException.addSuppressed(suppressed);
+                }
+                throw actualException;
+            }
+        });
     }
 
     private boolean shouldPrune(final UsageTrackingInternalConnection connection) {
@@ -456,6 +511,10 @@ final class DefaultConnectionPool implements ConnectionPool {
         return expired(connection.getLastUsedAt(), System.currentTimeMillis(), settings.getMaxConnectionIdleTime(MILLISECONDS));
     }
 
+    private boolean idleSinceLastMaintenance(final UsageTrackingInternalConnection connection) {
+        return expired(connection.getLastUsedAt(), System.currentTimeMillis(), settings.getMaintenanceFrequency(MILLISECONDS));
+    }
+
     private boolean pastMaxLifeTime(final UsageTrackingInternalConnection connection) {
         return expired(connection.getOpenedAt(), System.currentTimeMillis(), settings.getMaxConnectionLifeTime(MILLISECONDS));
     }
@@ -546,6 +605,9 @@ final class DefaultConnectionPool implements ConnectionPool {
             final OperationContext operationContext,
             final PooledConnection connection,
             final TimePoint checkoutStart) {
+        if (adaptiveMinSize != null) {
+            adaptiveMinSize.connectionCheckedOut();
+        }
         Duration checkoutDuration = checkoutStart.elapsed();
         ConnectionId connectionId = getId(connection);
         ClusterId clusterId = serverId.getClusterId();
@@ -868,7 +930,7 @@ final class DefaultConnectionPool implements ConnectionPool {
                 reason = ConnectionClosedEvent.Reason.ERROR;
             } else if (fromPreviousGeneration(connection)) {
                 reason = ConnectionClosedEvent.Reason.STALE;
-            } else if (pastMaxIdleTime(connection)) {
+            } else if (connection.isPrunedAsIdle() || pastMaxIdleTime(connection)) {
                 reason = ConnectionClosedEvent.Reason.IDLE;
             } else {
                 reason = ConnectionClosedEvent.Reason.POOL_CLOSED;
@@ -1434,6 +1496,12 @@ final class DefaultConnectionPool implements ConnectionPool {
     private final class BackgroundMaintenanceManager implements AutoCloseable {
         @Nullable
         private final ScheduledExecutorService maintainer;
+        /**
+         * Opens connections concurrently with the maintenance run that submitted them, see
+         * {@link DefaultConnectionPool#ensureMinSizeConcurrently(int, Predicate)}.
+         */
+        @Nullable
+        private final ThreadPoolExecutor opener;
         @Nullable
         private Future<?> cancellationHandle;
         private boolean initialStart;
@@ -1442,6 +1510,16 @@ final class DefaultConnectionPool implements ConnectionPool {
             maintainer = settings.getMaintenanceInitialDelay(NANOSECONDS) < Long.MAX_VALUE
                     ? Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("MaintenanceTimer"))
                     : null;
+            int numOpenerThreads = settings.getMaxConnecting() - 1;
+            if (maintainer != null && numOpenerThreads > 0 && (settings.getMinSize() > 0 || settings.isAdaptiveMinSize())) {
+                opener = new ThreadPoolExecutor(numOpenerThreads, numOpenerThreads,
+                        Math.max(1, settings.getMaintenanceFrequency(MILLISECONDS)), MILLISECONDS, new LinkedBlockingQueue<>(),
+                        new DaemonThreadFactory("MaintenanceOpener"));
+                // the threads are needed only while a maintenance run populates the pool
+                opener.allowCoreThreadTimeOut(true);
+            } else {
+                opener = null;
+            }
             cancellationHandle = null;
             initialStart = true;
         }
@@ -1467,11 +1545,25 @@ final class DefaultConnectionPool implements ConnectionPool {
             }
         }
 
+        /**
+         * Submits {@code action} to be executed concurrently with the current maintenance run.
+         *
+         * @return {@code null} if there are no threads for such actions, or if {@linkplain #close() closed}.
+         */
+        @Nullable
+        Future<?> submitOpener(final Runnable action) {
+            ThreadPoolExecutor localOpener = opener;
+            return localOpener == null ? null : ignoreRejectedExectution(() -> localOpener.submit(action));
+        }
+
         @Override
         public void close() {
             if (maintainer != null) {
                 maintainer.shutdownNow();
             }
+            if (opener != null) {
+                opener.shutdownNow();
+            }
         }
 
         private void ignoreRejectedExectution(final Runnable action) {
@@ -1492,6 +1584,50 @@ final class DefaultConnectionPool implements ConnectionPool {
         }
     }
 
+    /**
+     * Derives the minimum size of the pool from the highest number of connections in use between maintenance runs.
+     *
+     * @see ConnectionPoolSettings#isAdaptiveMinSize()
+     */
+    @ThreadSafe
+    private final class AdaptiveMinSize {
+        private final AtomicInteger peakInUseCount;
+        private volatile int minSize;
+
+        AdaptiveMinSize() {
+            peakInUseCount = new AtomicInteger();
+            minSize = settings.getMinSize();
+        }
+
+        void connectionCheckedOut() {
+            int inUseCount = pool.getInUseCount();
+            if (inUseCount > peakInUseCount.get()) {
+                peakInUseCount.accumulateAndGet(inUseCount, Math::max);
+            }
+        }
+
+        /**
+         * Must only be called by {@link #doMaintenance()}.
+         *
+         * @return The minimum size to maintain until the next maintenance run.
+         */
+        int update() {
+            int peak = peakInUseCount.getAndSet(pool.getInUseCount());
+            int previousMinSize = minSize;
+            int newMinSize = peak >= previousMinSize ? peak : previousMinSize - (previousMinSize - peak + 1) / 2;
+            newMinSize = Math.max(newMinSize, settings.getMinSize());
+            if (settings.getMaxSize() > 0) {
+                newMinSize = Math.min(newMinSize, settings.getMaxSize());
+            }
+            if (newMinSize != previousMinSize && LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Adaptive minimum size of the connection pool for %s changed from %d to %d",
+                        serverId.getAddress(), previousMinSize, newMinSize));
+            }
+            minSize = newMinSize;
+            return newMinSize;
+        }
+    }
+
     @ThreadSafe
     private final class StateAndGeneration {
         private final ReadWriteLock lock;
@@ -43,6 +43,7 @@ import org.bson.BsonWriter;
 import org.bson.RawBsonDocument;
 import org.bson.io.BasicOutputBuffer;
 import org.bson.types.Decimal128;
+import org.bson.types.BatchingObjectIdGenerator;
 import org.bson.types.ObjectId;
 
 import java.util.function.Supplier;
@@ -53,6 +54,9 @@ import java.util.function.Supplier;
 public class IdHoldingBsonWriter extends LevelCountingBsonWriter {
 
     private static final String ID_FIELD_NAME = "_id";
+    // the ids of documents inserted in bulk only need to be unique, so threads inserting concurrently reserve counters in batches
+    // rather than contending on the counter shared by ObjectId()
+    private static final BatchingObjectIdGenerator ID_GENERATOR = new BatchingObjectIdGenerator();
 
     private LevelCountingBsonWriter idBsonBinaryWriter;
     private BasicOutputBuffer outputBuffer;
@@ -99,7 +103,7 @@ public class IdHoldingBsonWriter extends LevelCountingBsonWriter {
         }
 
         if (getCurrentLevel() == 0 && id == null) {
-            id = new BsonObjectId();
+            id = new BsonObjectId(ID_GENERATOR.generate());
             writeObjectId(ID_FIELD_NAME, id.asObjectId().getValue());
         }
         super.writeEndDocument();
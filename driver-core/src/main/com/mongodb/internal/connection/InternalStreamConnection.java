@@ -58,6 +58,7 @@ import org.bson.io.ByteBufferBsonInput;
 
 import java.io.IOException;
 import java.net.SocketTimeoutException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -149,6 +150,7 @@ public class InternalStreamConnection implements InternalConnection {
     private final LoggerSettings loggerSettings;
     private final CommandListener commandListener;
     @Nullable private volatile Compressor sendCompressor;
+    @Nullable private volatile AdaptiveCompressorSelector adaptiveCompressorSelector;
     private final Map<Byte, Compressor> compressorMap;
     private volatile boolean hasMoreToCome;
     private volatile int responseTo;
@@ -298,6 +300,7 @@ public class InternalStreamConnection implements InternalConnection {
         opened.set(true);
         authenticated.set(true);
         sendCompressor = findSendCompressor(description);
+        adaptiveCompressorSelector = createAdaptiveCompressorSelector(description);
     }
 
     private Map<Byte, Compressor> createCompressorMap(final List<MongoCompressor> compressorList) {
@@ -327,6 +330,22 @@ public class InternalStreamConnection implements InternalConnection {
         throw new MongoInternalException("Unexpected compressor negotiated: " + firstCompressorName);
     }
 
+    @Nullable
+    private AdaptiveCompressorSelector createAdaptiveCompressorSelector(final ConnectionDescription description) {
+        List<Compressor> candidates = new ArrayList<>();
+        for (MongoCompressor mongoCompressor : compressorList) {
+            if (mongoCompressor.getPropertyNonNull(MongoCompressor.ADAPTIVE, false)
+                    && description.getCompressors().contains(mongoCompressor.getName())) {
+                for (Compressor compressor : compressorMap.values()) {
+                    if (compressor.getName().equals(mongoCompressor.getName())) {
+                        candidates.add(compressor);
+                    }
+                }
+            }
+        }
+        return candidates.isEmpty() ? null : new AdaptiveCompressorSelector(description.getConnectionId(), candidates);
+    }
+
     private Compressor createCompressor(final MongoCompressor mongoCompressor) {
         switch (mongoCompressor.getName()) {
             case "zlib":
@@ -473,8 +492,8 @@ public class InternalStreamConnection implements InternalConnection {
     private void sendCommandMessage(final CommandMessage message,
                                     final ByteBufferBsonOutput bsonOutput, final SessionContext sessionContext) {
 
-        Compressor localSendCompressor = sendCompressor;
-        if (localSendCompressor == null || SECURITY_SENSITIVE_COMMANDS.contains(message.getCommandDocument(bsonOutput).getFirstKey())) {
+        Compressor localSendCompressor = selectSendCompressor(message, bsonOutput);
+        if (localSendCompressor == null) {
             List<ByteBuf> byteBuffers = bsonOutput.getByteBuffers();
             try {
                 sendMessage(byteBuffers, message.getId());
@@ -486,10 +505,8 @@ public class InternalStreamConnection implements InternalConnection {
             ByteBufferBsonOutput compressedBsonOutput;
             List<ByteBuf> byteBuffers = bsonOutput.getByteBuffers();
             try {
-                CompressedMessage compressedMessage = new CompressedMessage(message.getOpCode(), byteBuffers, localSendCompressor,
-                        getMessageSettings(description));
                 compressedBsonOutput = new ByteBufferBsonOutput(this);
-                compressedMessage.encode(compressedBsonOutput, sessionContext);
+                encodeCompressedMessage(message, byteBuffers, localSendCompressor, compressedBsonOutput, sessionContext);
             } finally {
                 ResourceUtil.release(byteBuffers);
                 bsonOutput.close();
@@ -505,6 +522,33 @@ public class InternalStreamConnection implements InternalConnection {
         responseTo = message.getId();
     }
 
+    @Nullable
+    private Compressor selectSendCompressor(final CommandMessage message, final ByteBufferBsonOutput bsonOutput) {
+        Compressor localSendCompressor = sendCompressor;
+        if (localSendCompressor == null) {
+            return null;
+        }
+        String commandName = message.getCommandDocument(bsonOutput).getFirstKey();
+        if (SECURITY_SENSITIVE_COMMANDS.contains(commandName)) {
+            return null;
+        }
+        AdaptiveCompressorSelector localAdaptiveCompressorSelector = adaptiveCompressorSelector;
+        return localAdaptiveCompressorSelector == null ? localSendCompressor : localAdaptiveCompressorSelector.select(commandName);
+    }
+
+    private void encodeCompressedMessage(final CommandMessage message, final List<ByteBuf> byteBuffers, final Compressor compressor,
+            final ByteBufferBsonOutput compressedBsonOutput, final SessionContext sessionContext) {
+        AdaptiveCompressorSelector localAdaptiveCompressorSelector = adaptiveCompressorSelector;
+        long startNanos = localAdaptiveCompressorSelector == null ? 0 : System.nanoTime();
+        int uncompressedSize = byteBuffers.get(0).getInt(0);
+        new CompressedMessage(message.getOpCode(), byteBuffers, compressor, getMessageSettings(description))
+                .encode(compressedBsonOutput, sessionContext);
+        if (localAdaptiveCompressorSelector != null) {
+            localAdaptiveCompressorSelector.requestCompressed(uncompressedSize, compressedBsonOutput.getSize(),
+                    System.nanoTime() - startNanos);
+        }
+    }
+
     private <T> T receiveCommandMessageResponse(final Decoder<T> decoder,
                                                 final CommandEventSender commandEventSender, final SessionContext sessionContext,
                                                 final int additionalTimeout) {
@@ -550,16 +594,14 @@ public class InternalStreamConnection implements InternalConnection {
             message.encode(bsonOutput, sessionContext);
             CommandEventSender commandEventSender = createCommandEventSender(message, bsonOutput, requestContext, operationContext);
             commandEventSender.sendStartedEvent();
-            Compressor localSendCompressor = sendCompressor;
-            if (localSendCompressor == null || SECURITY_SENSITIVE_COMMANDS.contains(message.getCommandDocument(bsonOutput).getFirstKey())) {
+            Compressor localSendCompressor = selectSendCompressor(message, bsonOutput);
+            if (localSendCompressor == null) {
                 sendCommandMessageAsync(message.getId(), decoder, sessionContext, callback, bsonOutput, commandEventSender,
                         message.isResponseExpected());
             } else {
                 List<ByteBuf> byteBuffers = bsonOutput.getByteBuffers();
                 try {
-                    CompressedMessage compressedMessage = new CompressedMessage(message.getOpCode(), byteBuffers, localSendCompressor,
-                            getMessageSettings(description));
-                    compressedMessage.encode(compressedBsonOutput, sessionContext);
+                    encodeCompressedMessage(message, byteBuffers, localSendCompressor, compressedBsonOutput, sessionContext);
                 } finally {
                     ResourceUtil.release(byteBuffers);
                     bsonOutput.close();
@@ -809,10 +851,8 @@ public class InternalStreamConnection implements InternalConnection {
             if (messageHeader.getOpCode() == OP_COMPRESSED.getValue()) {
                 CompressedHeader compressedHeader = new CompressedHeader(messageBuffer, messageHeader);
 
-                Compressor compressor = getCompressor(compressedHeader);
-
                 ByteBuf buffer = getBuffer(compressedHeader.getUncompressedSize());
-                compressor.uncompress(messageBuffer, buffer);
+                uncompress(compressedHeader, messageBuffer, buffer);
 
                 buffer.flip();
                 return new ResponseBuffers(new ReplyHeader(buffer, compressedHeader), buffer);
@@ -828,6 +868,17 @@ public class InternalStreamConnection implements InternalConnection {
         }
     }
 
+    private void uncompress(final CompressedHeader compressedHeader, final ByteBuf source, final ByteBuf target) {
+        Compressor compressor = getCompressor(compressedHeader);
+        AdaptiveCompressorSelector localAdaptiveCompressorSelector = adaptiveCompressorSelector;
+        long startNanos = localAdaptiveCompressorSelector == null ? 0 : System.nanoTime();
+        compressor.uncompress(source, target);
+        if (localAdaptiveCompressorSelector != null) {
+            localAdaptiveCompressorSelector.replyUncompressed(compressedHeader.getCompressedSize(), compressedHeader.getUncompressedSize(),
+                    System.nanoTime() - startNanos);
+        }
+    }
+
     private Compressor getCompressor(final CompressedHeader compressedHeader) {
         Compressor compressor = compressorMap.get(compressedHeader.getCompressorId());
         if (compressor == null) {
@@ -889,9 +940,8 @@ public class InternalStreamConnection implements InternalConnection {
                     if (messageHeader.getOpCode() == OP_COMPRESSED.getValue()) {
                         try {
                             CompressedHeader compressedHeader = new CompressedHeader(result, messageHeader);
-                            Compressor compressor = getCompressor(compressedHeader);
                             ByteBuf buffer = getBuffer(compressedHeader.getUncompressedSize());
-                            compressor.uncompress(result, buffer);
+                            uncompress(compressedHeader, result, buffer);
 
                             buffer.flip();
                             replyHeader = new ReplyHeader(buffer, compressedHeader);
@@ -149,7 +149,10 @@ class LoggingCommandEventSender implements CommandEventSender {
 
     @Override
     public void sendSucceededEvent(final ResponseBuffers responseBuffers) {
-        sendSucceededEvent(responseBuffers.getResponseDocument(message.getId(), new RawBsonDocumentCodec()));
+        // a redacted reply is never logged or published, so avoid copying the response body into a RawBsonDocument
+        sendSucceededEvent(redactionRequired
+                ? new BsonDocument()
+                : responseBuffers.getResponseDocument(message.getId(), new RawBsonDocumentCodec()));
     }
 
     @Override
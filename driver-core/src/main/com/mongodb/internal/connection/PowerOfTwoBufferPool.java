@@ -16,6 +16,7 @@
 
 package com.mongodb.internal.connection;
 
+import com.mongodb.internal.VisibleForTesting;
 import com.mongodb.internal.thread.DaemonThreadFactory;
 import org.bson.ByteBuf;
 import org.bson.ByteBufNIO;
@@ -29,6 +30,9 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mongodb.internal.VisibleForTesting.AccessModifier.PACKAGE;
 
 /**
  * <p>This class is not part of the public API and may be removed or changed at any time</p>
@@ -40,6 +44,13 @@ public class PowerOfTwoBufferPool implements BufferProvider {
      */
     public static final PowerOfTwoBufferPool DEFAULT = new PowerOfTwoBufferPool().enablePruning();
 
+    private static final int MAX_STRIPES = 64;
+
+    private static final class DirectHolder {
+        private static final PowerOfTwoBufferPool DIRECT = new PowerOfTwoBufferPool(24, 1, TimeUnit.MINUTES,
+                Runtime.getRuntime().availableProcessors(), 64 * 1024 * 1024).enablePruning();
+    }
+
     private static final class IdleTrackingByteBuffer {
         private final long lastUsedNanos;
         private final ByteBuffer buffer;
@@ -59,6 +70,9 @@ public class PowerOfTwoBufferPool implements BufferProvider {
     }
 
     private final Map<Integer, BufferPool> powerOfTwoToPoolMap = new HashMap<>();
+    private final int stripeMask;
+    private final long maxDirectBytes;
+    private final AtomicLong allocatedDirectBytes = new AtomicLong();
     private final long maxIdleTimeNanos;
     private final ScheduledExecutorService pruner;
 
@@ -86,6 +100,38 @@ public class PowerOfTwoBufferPool implements BufferProvider {
      * @param timeUnit time unit of maxIdleTime
      */
     PowerOfTwoBufferPool(final int highestPowerOfTwo, final long maxIdleTime, final TimeUnit timeUnit) {
+        this(highestPowerOfTwo, maxIdleTime, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construct an instance.
+     *
+     * @param highestPowerOfTwo the highest power of two buffer size that will be pooled
+     * @param maxIdleTime max idle time when pruning is enabled
+     * @param timeUnit time unit of maxIdleTime
+     * @param concurrencyLevel the expected number of threads concurrently using the pool, which determines the number of stripes
+     */
+    @VisibleForTesting(otherwise = PACKAGE)
+    public PowerOfTwoBufferPool(final int highestPowerOfTwo, final long maxIdleTime, final TimeUnit timeUnit,
+            final int concurrencyLevel) {
+        this(highestPowerOfTwo, maxIdleTime, timeUnit, concurrencyLevel, 0);
+    }
+
+    /**
+     * Construct an instance.
+     *
+     * @param highestPowerOfTwo the highest power of two buffer size that will be pooled
+     * @param maxIdleTime max idle time when pruning is enabled
+     * @param timeUnit time unit of maxIdleTime
+     * @param concurrencyLevel the expected number of threads concurrently using the pool, which determines the number of stripes
+     * @param maxDirectBytes if positive, buffers are allocated from direct memory until this many bytes of direct buffers have been
+     *                       allocated and not yet pruned, after which heap buffers are allocated.  If zero, only heap buffers are
+     *                       allocated.
+     */
+    PowerOfTwoBufferPool(final int highestPowerOfTwo, final long maxIdleTime, final TimeUnit timeUnit, final int concurrencyLevel,
+            final long maxDirectBytes) {
+        this.maxDirectBytes = maxDirectBytes;
+        stripeMask = roundUpToNextHighestPowerOfTwo(Math.max(1, Math.min(concurrencyLevel, MAX_STRIPES))) - 1;
         int powerOfTwo = 1;
         for (int i = 0; i <= highestPowerOfTwo; i++) {
             int size = powerOfTwo;
@@ -96,6 +142,18 @@ public class PowerOfTwoBufferPool implements BufferProvider {
         pruner = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("BufferPoolPruner"));
     }
 
+    /**
+     * Gets the global pool of direct buffers, for buffers that are only ever handed to channel I/O, where a heap buffer would be copied
+     * into a temporary direct buffer by the JDK on every read and write.  At most 64MB of direct memory is allocated by this pool; beyond
+     * that it hands out heap buffers instead.  Pruning is enabled on this pool. Idle buffers are pruned after one minute.
+     * The pool, and its pruning thread, are created on first use.
+     *
+     * @return the global pool of direct buffers
+     */
+    public static PowerOfTwoBufferPool direct() {
+        return DirectHolder.DIRECT;
+    }
+
     /**
      * Call this method at most once to enable a background thread that prunes idle buffers from the pool
      */
@@ -123,7 +181,7 @@ public class PowerOfTwoBufferPool implements BufferProvider {
     }
 
     private ByteBuffer createNew(final int size) {
-        ByteBuffer buf = ByteBuffer.allocate(size);
+        ByteBuffer buf = reserveDirectBytes(size) ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
         buf.order(ByteOrder.LITTLE_ENDIAN);
         return buf;
     }
@@ -131,11 +189,43 @@ public class PowerOfTwoBufferPool implements BufferProvider {
     public void release(final ByteBuffer buffer) {
         BufferPool pool =
                 powerOfTwoToPoolMap.get(log2(roundUpToNextHighestPowerOfTwo(buffer.capacity())));
-        if (pool != null) {
+        if (pool == null || (maxDirectBytes > 0 && !buffer.isDirect())) {
+            // Neither buffers too large to pool nor the heap buffers handed out once the direct memory limit was reached are kept
+            discard(buffer);
+        } else {
             pool.release(new IdleTrackingByteBuffer(buffer));
         }
     }
 
+    /**
+     * Gets the number of bytes of direct buffers allocated by this pool that have not yet been pruned, whether idle or in use.
+     *
+     * @return the number of allocated direct bytes
+     */
+    long getAllocatedDirectBytes() {
+        return allocatedDirectBytes.get();
+    }
+
+    private boolean reserveDirectBytes(final int size) {
+        if (maxDirectBytes <= 0) {
+            return false;
+        }
+        long current;
+        do {
+            current = allocatedDirectBytes.get();
+            if (current + size > maxDirectBytes) {
+                return false;
+            }
+        } while (!allocatedDirectBytes.compareAndSet(current, current + size));
+        return true;
+    }
+
+    private void discard(final ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            allocatedDirectBytes.addAndGet(-buffer.capacity());
+        }
+    }
+
     private void prune() {
         powerOfTwoToPoolMap.values().forEach(BufferPool::prune);
     }
@@ -172,29 +262,54 @@ public class PowerOfTwoBufferPool implements BufferProvider {
         }
     }
 
+    /**
+     * A pool of buffers of a single size.  Idle buffers are spread across stripes, each selected by the identifier of the calling thread,
+     * so that threads releasing and reacquiring buffers of the same size mostly operate on distinct deques rather than all contending on
+     * the tail of a single one.  A thread whose own stripe is empty steals from the other stripes before allocating a new buffer.
+     */
     private final class BufferPool {
         private final int bufferSize;
-        private final ConcurrentLinkedDeque<IdleTrackingByteBuffer> available = new ConcurrentLinkedDeque<>();
+        private final ConcurrentLinkedDeque<IdleTrackingByteBuffer>[] stripes;
 
+        @SuppressWarnings({"unchecked", "rawtypes"})
         BufferPool(final int bufferSize) {
             this.bufferSize = bufferSize;
+            stripes = new ConcurrentLinkedDeque[stripeMask + 1];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new ConcurrentLinkedDeque<>();
+            }
         }
 
         IdleTrackingByteBuffer get() {
-            IdleTrackingByteBuffer buffer = available.pollLast();
-            if (buffer != null) {
-                return buffer;
+            int home = currentStripe();
+            for (int i = 0; i < stripes.length; i++) {
+                IdleTrackingByteBuffer buffer = stripes[(home + i) & stripeMask].pollLast();
+                if (buffer != null) {
+                    return buffer;
+                }
             }
             return new IdleTrackingByteBuffer(createNew(bufferSize));
         }
 
         void release(final IdleTrackingByteBuffer t) {
-            available.addLast(t);
+            stripes[currentStripe()].addLast(t);
         }
 
         void prune() {
             long now = System.nanoTime();
-            available.removeIf(cur -> now - cur.getLastUsedNanos() >= maxIdleTimeNanos);
+            for (ConcurrentLinkedDeque<IdleTrackingByteBuffer> stripe : stripes) {
+                for (IdleTrackingByteBuffer cur : stripe) {
+                    // only the thread that actually unlinks the buffer may discard it, as it may be concurrently taken from the stripe
+                    if (now - cur.getLastUsedNanos() >= maxIdleTimeNanos && stripe.removeFirstOccurrence(cur)) {
+                        discard(cur.getBuffer());
+                    }
+                }
+            }
+        }
+
+        private int currentStripe() {
+            long id = Thread.currentThread().getId();
+            return (int) (id ^ (id >>> 32)) & stripeMask;
         }
     }
 }
@@ -40,7 +40,7 @@ public class ReplyMessage<T> {
                     + "request", responseBuffers.getReplyHeader().getResponseTo(), requestId));
         }
 
-        try (BsonInput bsonInput = new ByteBufferBsonInput(responseBuffers.getBodyByteBuffer().duplicate())) {
+        try (BsonInput bsonInput = new ByteBufferBsonInput(responseBuffers.getBodyByteBuffer().duplicate(), true)) {
             try (BsonBinaryReader reader = new BsonBinaryReader(bsonInput)) {
                 document = decoder.decode(reader, DecoderContext.builder().build());
             }
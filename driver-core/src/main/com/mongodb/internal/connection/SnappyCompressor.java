@@ -24,6 +24,7 @@ import org.xerial.snappy.SnappyInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 class SnappyCompressor extends Compressor {
@@ -37,41 +38,23 @@ class SnappyCompressor extends Compressor {
         return 1;
     }
 
-    // the server does not support the framing format so SnappyFramedOutputStream can't be used.  The entire source message must first
-    // be copied into a single byte array.  For that reason the compress method defined in the base class can't be used.
+    // the server does not support the framing format so SnappyFramedOutputStream can't be used.  Snappy's block format compresses a
+    // single array, so a source message that is not already in one heap buffer must first be copied into one.
     @Override
     public void compress(final List<ByteBuf> source, final BsonOutput target) {
-        int uncompressedSize = getUncompressedSize(source);
-
-        byte[] singleByteArraySource = new byte[uncompressedSize];
-        copy(source, singleByteArraySource);
+        ByteBuffer singleBufferSource = getSingleHeapBuffer(source);
+        int uncompressedSize = singleBufferSource.remaining();
 
         try {
             byte[] out = new byte[Snappy.maxCompressedLength(uncompressedSize)];
-            int compressedSize = Snappy.compress(singleByteArraySource, 0, singleByteArraySource.length, out, 0);
+            int compressedSize = Snappy.compress(singleBufferSource.array(),
+                    singleBufferSource.arrayOffset() + singleBufferSource.position(), uncompressedSize, out, 0);
             target.writeBytes(out, 0, compressedSize);
         } catch (IOException e) {
             throw new MongoInternalException("Unexpected IOException", e);
         }
     }
 
-    private int getUncompressedSize(final List<ByteBuf> source) {
-        int uncompressedSize = 0;
-        for (ByteBuf cur : source) {
-            uncompressedSize += cur.remaining();
-        }
-        return uncompressedSize;
-    }
-
-    private void copy(final List<ByteBuf> source, final byte[] in) {
-        int offset = 0;
-        for (ByteBuf cur : source) {
-            int remaining = cur.remaining();
-            cur.get(in, offset, remaining);
-            offset += remaining;
-        }
-    }
-
     @Override
     InputStream getInputStream(final InputStream source) throws IOException {
         return new SnappyInputStream(source);
@@ -52,6 +52,13 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * <p>This class is not part of the public API and may be removed or changed at any time</p>
  */
 public class SocketStream implements Stream {
+    /**
+     * Messages are written from a list of buffers of increasing size, starting at {@link ByteBufferBsonOutput#INITIAL_BUFFER_SIZE}.
+     * Buffers smaller than this are first copied into a single buffer of this size, so that a small message is written to the socket
+     * with one call rather than one call per buffer, while large buffers are still written without being copied.
+     */
+    static final int MAX_COALESCED_WRITE_SIZE = 1 << 14;
+
     private final ServerAddress address;
     private final InetAddressResolver inetAddressResolver;
     private final SocketSettings settings;
@@ -161,8 +168,33 @@ public class SocketStream implements Stream {
 
     @Override
     public void write(final List<ByteBuf> buffers) throws IOException {
-        for (final ByteBuf cur : buffers) {
-            outputStream.write(cur.array(), 0, cur.limit());
+        if (buffers.size() == 1) {
+            ByteBuf buffer = buffers.get(0);
+            outputStream.write(buffer.array(), 0, buffer.limit());
+            return;
+        }
+        ByteBuf coalescingBuffer = bufferProvider.getBuffer(MAX_COALESCED_WRITE_SIZE);
+        try {
+            byte[] coalescedBytes = coalescingBuffer.array();
+            int coalescedLength = 0;
+            for (final ByteBuf cur : buffers) {
+                int length = cur.limit();
+                if (coalescedLength > 0 && coalescedLength + length > MAX_COALESCED_WRITE_SIZE) {
+                    outputStream.write(coalescedBytes, 0, coalescedLength);
+                    coalescedLength = 0;
+                }
+                if (length >= MAX_COALESCED_WRITE_SIZE) {
+                    outputStream.write(cur.array(), 0, length);
+                } else {
+                    System.arraycopy(cur.array(), 0, coalescedBytes, coalescedLength, length);
+                    coalescedLength += length;
+                }
+            }
+            if (coalescedLength > 0) {
+                outputStream.write(coalescedBytes, 0, coalescedLength);
+            }
+        } finally {
+            coalescingBuffer.release();
         }
     }
 
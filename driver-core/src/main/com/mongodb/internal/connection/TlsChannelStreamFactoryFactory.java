@@ -215,11 +215,11 @@ public class TlsChannelStreamFactoryFactory implements StreamFactoryFactory {
                         }
                         sslEngine.setSSLParameters(sslParameters);
 
-                        BufferAllocator bufferAllocator = new BufferProviderAllocator();
-
+                        // The encrypted buffers are only ever read from and written to the socket channel, so they come from direct
+                        // memory to spare the JDK from copying them to and from a temporary direct buffer on every read and write
                         TlsChannel tlsChannel = ClientTlsChannel.newBuilder(socketChannel, sslEngine)
-                                .withEncryptedBufferAllocator(bufferAllocator)
-                                .withPlainBufferAllocator(bufferAllocator)
+                                .withEncryptedBufferAllocator(new BufferProviderAllocator(PowerOfTwoBufferPool.direct()))
+                                .withPlainBufferAllocator(new BufferProviderAllocator(getBufferProvider()))
                                 .build();
 
                         // build asynchronous channel, based in the TLS channel and associated with the global group.
@@ -247,15 +247,21 @@ public class TlsChannelStreamFactoryFactory implements StreamFactoryFactory {
             }
         }
 
-        private class BufferProviderAllocator implements BufferAllocator {
+        private static class BufferProviderAllocator implements BufferAllocator {
+            private final PowerOfTwoBufferPool bufferPool;
+
+            BufferProviderAllocator(final PowerOfTwoBufferPool bufferPool) {
+                this.bufferPool = bufferPool;
+            }
+
             @Override
             public ByteBuffer allocate(final int size) {
-                return getBufferProvider().getByteBuffer(size);
+                return bufferPool.getByteBuffer(size);
             }
 
             @Override
             public void free(final ByteBuffer buffer) {
-                getBufferProvider().release(buffer);
+                bufferPool.release(buffer);
             }
         }
 
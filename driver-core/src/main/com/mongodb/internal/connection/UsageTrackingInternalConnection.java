@@ -40,6 +40,7 @@ class UsageTrackingInternalConnection implements InternalConnection {
     private volatile long openedAt;
     private volatile long lastUsedAt;
     private volatile boolean closeSilently;
+    private volatile boolean prunedAsIdle;
     private final InternalConnection wrapped;
     private final DefaultConnectionPool.ServiceStateManager serviceStateManager;
 
@@ -228,4 +229,23 @@ class UsageTrackingInternalConnection implements InternalConnection {
     boolean isCloseSilently() {
         return closeSilently;
     }
+
+    /**
+     * This method must be used if and only if the connection is being closed because it is not needed to maintain the pool size.
+     * Must not throw {@link Exception}s.
+     *
+     * @see #isPrunedAsIdle()
+     */
+    void setPrunedAsIdle() {
+        prunedAsIdle = true;
+    }
+
+    /**
+     * Must not throw {@link Exception}s.
+     *
+     * @see #setPrunedAsIdle()
+     */
+    boolean isPrunedAsIdle() {
+        return prunedAsIdle;
+    }
 }
@@ -17,15 +17,19 @@
 package com.mongodb.internal.connection;
 
 import com.mongodb.MongoCompressor;
+import org.bson.ByteBuf;
+import org.bson.io.BsonOutput;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 
 class ZlibCompressor extends Compressor {
+    private static final int MAX_CHUNK_SIZE = 8192;
+    private static final int MIN_OUTPUT_CHUNK_SIZE = 64;
+
     private final int level;
 
     ZlibCompressor(final MongoCompressor mongoCompressor) {
@@ -47,17 +51,48 @@ class ZlibCompressor extends Compressor {
         return new InflaterInputStream(source);
     }
 
+    // Deflates array-backed source buffers in place, and writes the output to the target as it is produced rather than collecting it all
+    // in a growing array first
     @Override
-    OutputStream getOutputStream(final OutputStream source) {
-        return new DeflaterOutputStream(source, new Deflater(level)) {
-            @Override
-            public void close() throws IOException {
-                try {
-                    super.close();
-                } finally {
-                    def.end();
+    void compress(final List<ByteBuf> source, final BsonOutput target) {
+        int uncompressedSize = 0;
+        for (ByteBuf cur : source) {
+            uncompressedSize += cur.remaining();
+        }
+        Deflater deflater = new Deflater(level);
+        byte[] outputChunk = new byte[Math.max(MIN_OUTPUT_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, uncompressedSize))];
+        byte[] inputChunk = null;
+        try {
+            for (ByteBuf cur : source) {
+                ByteBuffer nioBuffer = cur.asNIO();
+                if (nioBuffer.hasArray()) {
+                    deflater.setInput(nioBuffer.array(), nioBuffer.arrayOffset() + nioBuffer.position(), nioBuffer.remaining());
+                    deflate(deflater, outputChunk, target);
+                    cur.position(cur.limit());
+                } else {
+                    if (inputChunk == null) {
+                        inputChunk = new byte[Math.min(MAX_CHUNK_SIZE, uncompressedSize)];
+                    }
+                    while (cur.hasRemaining()) {
+                        int numBytes = Math.min(cur.remaining(), inputChunk.length);
+                        cur.get(inputChunk, 0, numBytes);
+                        deflater.setInput(inputChunk, 0, numBytes);
+                        deflate(deflater, outputChunk, target);
+                    }
                 }
             }
-        };
+            deflater.finish();
+            while (!deflater.finished()) {
+                target.writeBytes(outputChunk, 0, deflater.deflate(outputChunk));
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void deflate(final Deflater deflater, final byte[] outputChunk, final BsonOutput target) {
+        while (!deflater.needsInput()) {
+            target.writeBytes(outputChunk, 0, deflater.deflate(outputChunk));
+        }
     }
 }
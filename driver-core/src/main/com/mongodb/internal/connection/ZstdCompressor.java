@@ -24,6 +24,7 @@ import org.bson.io.BsonOutput;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 class ZstdCompressor extends Compressor {
@@ -39,37 +40,19 @@ class ZstdCompressor extends Compressor {
 
     @Override
     public void compress(final List<ByteBuf> source, final BsonOutput target) {
-        int uncompressedSize = getUncompressedSize(source);
-
-        byte[] singleByteArraySource = new byte[uncompressedSize];
-        copy(source, singleByteArraySource);
+        ByteBuffer singleBufferSource = getSingleHeapBuffer(source);
+        int uncompressedSize = singleBufferSource.remaining();
 
         try {
             byte[] out = new byte[(int) Zstd.compressBound(uncompressedSize)];
-            int compressedSize = (int) Zstd.compress(out, singleByteArraySource, Zstd.defaultCompressionLevel());
+            int compressedSize = (int) Zstd.compressByteArray(out, 0, out.length, singleBufferSource.array(),
+                    singleBufferSource.arrayOffset() + singleBufferSource.position(), uncompressedSize, Zstd.defaultCompressionLevel());
             target.writeBytes(out, 0, compressedSize);
         } catch (Exception e) {
             throw new MongoInternalException("Unexpected exception", e);
         }
     }
 
-    private int getUncompressedSize(final List<ByteBuf> source) {
-        int uncompressedSize = 0;
-        for (ByteBuf cur : source) {
-            uncompressedSize += cur.remaining();
-        }
-        return uncompressedSize;
-    }
-
-    private void copy(final List<ByteBuf> source, final byte[] in) {
-        int offset = 0;
-        for (ByteBuf cur : source) {
-            int remaining = cur.remaining();
-            cur.get(in, offset, remaining);
-            offset += remaining;
-        }
-    }
-
     @Override
     InputStream getInputStream(final InputStream source) throws IOException {
         return new ZstdInputStream(source);
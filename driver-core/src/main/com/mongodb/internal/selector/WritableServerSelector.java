@@ -42,6 +42,16 @@ public final class WritableServerSelector implements ServerSelector {
         return getPrimaries(clusterDescription);
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
     @Override
     public String toString() {
         return "WritableServerSelector";
@@ -18,6 +18,8 @@ package com.mongodb.management;
 
 import com.mongodb.ServerAddress;
 import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
 import com.mongodb.event.ConnectionCheckedInEvent;
 import com.mongodb.event.ConnectionCheckedOutEvent;
 import com.mongodb.event.ConnectionClosedEvent;
@@ -26,6 +28,9 @@ import com.mongodb.event.ConnectionPoolCreatedEvent;
 import com.mongodb.event.ConnectionPoolListener;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * An MBean implementation for connection pool statistics.
@@ -35,6 +40,11 @@ final class ConnectionPoolStatistics implements ConnectionPoolListener, Connecti
     private final ConnectionPoolSettings settings;
     private final AtomicInteger size = new AtomicInteger();
     private final AtomicInteger checkedOutCount = new AtomicInteger();
+    private final AtomicInteger waitQueueSize = new AtomicInteger();
+    private final LongAdder checkOutCount = new LongAdder();
+    private final LongAdder checkOutFailedCount = new LongAdder();
+    private final LongAdder checkOutTimedOutCount = new LongAdder();
+    private final LongAdder totalCheckOutTimeNanos = new LongAdder();
 
     ConnectionPoolStatistics(final ConnectionPoolCreatedEvent event) {
         serverAddress = event.getServerId().getAddress();
@@ -71,11 +81,54 @@ final class ConnectionPoolStatistics implements ConnectionPoolListener, Connecti
         return checkedOutCount.get();
     }
 
+    @Override
+    public int getWaitQueueSize() {
+        return waitQueueSize.get();
+    }
+
+    @Override
+    public long getCheckOutCount() {
+        return checkOutCount.sum();
+    }
+
+    @Override
+    public long getCheckOutFailedCount() {
+        return checkOutFailedCount.sum();
+    }
+
+    @Override
+    public long getCheckOutTimedOutCount() {
+        return checkOutTimedOutCount.sum();
+    }
+
+    @Override
+    public long getTotalCheckOutTimeMillis() {
+        return NANOSECONDS.toMillis(totalCheckOutTimeNanos.sum());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(final ConnectionCheckOutStartedEvent event) {
+        waitQueueSize.incrementAndGet();
+    }
+
     @Override
     public void connectionCheckedOut(final ConnectionCheckedOutEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkOutCount.increment();
+        totalCheckOutTimeNanos.add(event.getElapsedTime(NANOSECONDS));
         checkedOutCount.incrementAndGet();
     }
 
+    @Override
+    public void connectionCheckOutFailed(final ConnectionCheckOutFailedEvent event) {
+        waitQueueSize.decrementAndGet();
+        checkOutFailedCount.increment();
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            checkOutTimedOutCount.increment();
+        }
+        totalCheckOutTimeNanos.add(event.getElapsedTime(NANOSECONDS));
+    }
+
     @Override
     public void connectionCheckedIn(final ConnectionCheckedInEvent event) {
         checkedOutCount.decrementAndGet();
@@ -66,4 +66,45 @@ public interface ConnectionPoolStatisticsMBean {
      * @return count of in-use connections
      */
     int getCheckedOutCount();
+
+    /**
+     * Gets the count of connection check-outs that have started but neither completed nor failed yet.
+     *
+     * @return count of operations waiting to check out a connection
+     * @since 5.2
+     */
+    int getWaitQueueSize();
+
+    /**
+     * Gets the total count of connections that have been checked out.
+     *
+     * @return total count of successful connection check-outs
+     * @since 5.2
+     */
+    long getCheckOutCount();
+
+    /**
+     * Gets the total count of connection check-outs that have failed.
+     *
+     * @return total count of failed connection check-outs
+     * @since 5.2
+     */
+    long getCheckOutFailedCount();
+
+    /**
+     * Gets the total count of connection check-outs that have failed because the wait queue timeout elapsed.
+     *
+     * @return total count of connection check-outs that have timed out
+     * @since 5.2
+     */
+    long getCheckOutTimedOutCount();
+
+    /**
+     * Gets the total time spent checking out connections, including both successful and failed check-outs.
+     * Divided by the sum of {@link #getCheckOutCount()} and {@link #getCheckOutFailedCount()}, it gives the average check-out time.
+     *
+     * @return total check-out time in milliseconds
+     * @since 5.2
+     */
+    long getTotalCheckOutTimeMillis();
 }
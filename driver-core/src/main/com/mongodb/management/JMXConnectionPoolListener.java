@@ -18,6 +18,8 @@ package com.mongodb.management;
 
 import com.mongodb.connection.ConnectionId;
 import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
 import com.mongodb.event.ConnectionCheckedInEvent;
 import com.mongodb.event.ConnectionCheckedOutEvent;
 import com.mongodb.event.ConnectionClosedEvent;
@@ -57,6 +59,22 @@ public class JMXConnectionPoolListener implements ConnectionPoolListener {
         MBeanServerFactory.getMBeanServer().unregisterMBean(getMBeanObjectName(event.getServerId()));
     }
 
+    @Override
+    public void connectionCheckOutStarted(final ConnectionCheckOutStartedEvent event) {
+        ConnectionPoolStatistics statistics = getStatistics(event.getServerId());
+        if (statistics != null) {
+            statistics.connectionCheckOutStarted(event);
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(final ConnectionCheckOutFailedEvent event) {
+        ConnectionPoolStatistics statistics = getStatistics(event.getServerId());
+        if (statistics != null) {
+            statistics.connectionCheckOutFailed(event);
+        }
+    }
+
     @Override
     public void connectionCheckedOut(final ConnectionCheckedOutEvent event) {
         ConnectionPoolStatistics statistics = getStatistics(event.getConnectionId());
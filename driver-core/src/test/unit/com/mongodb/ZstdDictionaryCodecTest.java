@@ -0,0 +1,151 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb;
+
+import com.github.luben.zstd.Zstd;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonSerializationException;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.StringCodec;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZstdDictionaryCodecTest {
+    private static final String[] STATUSES = {"PENDING", "ACTIVE", "SUSPENDED", "CLOSED"};
+
+    @Test
+    void shouldRoundTripDocumentsAndCompressThemBetterThanWithoutDictionary() {
+        Codec<Document> documentCodec = new DocumentCodec();
+        ZstdDictionaryCodec<Document> codec = new ZstdDictionaryCodec<>(documentCodec,
+                ZstdDictionaryCodec.trainDictionary(documentCodec, createDocuments(1, 2000), 4096));
+
+        int uncompressedSize = 0;
+        int compressedWithoutDictionarySize = 0;
+        int compressedSize = 0;
+        for (Document document : createDocuments(2, 100)) {
+            byte[] encoded = encode(codec, document);
+            assertEquals(document, decode(codec, encoded));
+            byte[] uncompressed = encode(documentCodec, document);
+            uncompressedSize += uncompressed.length;
+            compressedWithoutDictionarySize += Zstd.compress(uncompressed).length;
+            compressedSize += encoded.length;
+        }
+        assertTrue(compressedWithoutDictionarySize > uncompressedSize * 0.9);
+        assertTrue(compressedSize * 2 < uncompressedSize, compressedSize + " not less than half of " + uncompressedSize);
+    }
+
+    @Test
+    void shouldRoundTripValuesThatAreNotDocuments() {
+        ZstdDictionaryCodec<String> codec = new ZstdDictionaryCodec<>(new StringCodec(),
+                ZstdDictionaryCodec.trainDictionary(new StringCodec(), createStrings(), 1024));
+
+        assertEquals("status ACTIVE", decode(codec, encode(codec, "status ACTIVE")));
+        assertEquals(String.class, codec.getEncoderClass());
+    }
+
+    @Test
+    void shouldRejectValuesCompressedWithAnotherDictionary() {
+        Codec<Document> documentCodec = new DocumentCodec();
+        ZstdDictionaryCodec<Document> codec = new ZstdDictionaryCodec<>(documentCodec,
+                ZstdDictionaryCodec.trainDictionary(documentCodec, createDocuments(1, 2000), 4096));
+        ZstdDictionaryCodec<Document> otherCodec = new ZstdDictionaryCodec<>(documentCodec,
+                ZstdDictionaryCodec.trainDictionary(documentCodec, createDocuments(3, 2000), 2048));
+
+        byte[] encoded = encode(codec, createDocuments(4, 1).get(0));
+        assertThrows(BsonSerializationException.class, () -> decode(otherCodec, encoded));
+    }
+
+    @Test
+    void shouldRejectValuesLargerThanTheMaximumDecompressedSize() {
+        byte[] dictionary = ZstdDictionaryCodec.trainDictionary(new StringCodec(), createStrings(), 1024);
+        ZstdDictionaryCodec<String> codec = new ZstdDictionaryCodec<>(new StringCodec(), dictionary);
+        ZstdDictionaryCodec<String> limitedCodec = new ZstdDictionaryCodec<>(new StringCodec(), dictionary,
+                Zstd.defaultCompressionLevel(), 100);
+
+        String value = String.join("", nCopies(100, "status ACTIVE "));
+        byte[] encoded = encode(codec, value);
+        assertEquals(value, decode(codec, encoded));
+        assertThrows(BsonSerializationException.class, () -> decode(limitedCodec, encoded));
+    }
+
+    @Test
+    void shouldFailToTrainOnTooFewSamples() {
+        assertThrows(MongoClientException.class, () -> ZstdDictionaryCodec.trainDictionary(new DocumentCodec(),
+                singletonList(new Document("a", 1)), 4096));
+    }
+
+    private static List<Document> createDocuments(final long seed, final int count) {
+        Random random = new Random(seed);
+        List<Document> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(new Document("_id", new ObjectId())
+                    .append("customerId", 100_000 + random.nextInt(1000))
+                    .append("status", STATUSES[random.nextInt(STATUSES.length)])
+                    .append("currency", random.nextBoolean() ? "EUR" : "USD")
+                    .append("amount", random.nextInt(100_000) / 100.0)
+                    .append("express", random.nextBoolean()));
+        }
+        return documents;
+    }
+
+    private static List<String> createStrings() {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            strings.add("status " + STATUSES[i % STATUSES.length] + " " + i);
+        }
+        return strings;
+    }
+
+    private static <T> byte[] encode(final Codec<T> codec, final T value) {
+        BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+            writer.writeStartDocument();
+            writer.writeName("value");
+            codec.encode(writer, value, EncoderContext.builder().build());
+            writer.writeEndDocument();
+        }
+        return outputBuffer.toByteArray();
+    }
+
+    private static <T> T decode(final Codec<T> codec, final byte[] bytes) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+            reader.readStartDocument();
+            reader.readName();
+            T value = codec.decode(reader, DecoderContext.builder().build());
+            reader.readEndDocument();
+            return value;
+        }
+    }
+}
@@ -183,6 +183,7 @@ class ConnectionPoolSettingsSpecification extends Specification {
                 .maintenanceInitialDelay(5, SECONDS)
                 .maintenanceFrequency(1000, SECONDS)
                 .maxConnecting(1)
+                .adaptiveMinSize(true)
                 .build()
 
         expect:
@@ -220,6 +221,7 @@ class ConnectionPoolSettingsSpecification extends Specification {
     def 'different settings should not be equal'() {
         expect:
         ConnectionPoolSettings.builder().maxWaitTime(5, SECONDS).build() != ConnectionPoolSettings.builder().maxWaitTime(2, SECONDS).build()
+        ConnectionPoolSettings.builder().adaptiveMinSize(true).build() != ConnectionPoolSettings.builder().build()
     }
 
     def 'identical settings should have same hash code'() {
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import org.junit.jupiter.api.Test;
+
+
+import static com.mongodb.internal.connection.AdaptiveCompressorSelector.EXPLORATION_INTERVAL;
+import static com.mongodb.internal.connection.AdaptiveCompressorSelector.MIN_SAMPLES;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveCompressorSelectorTest {
+    private static final ConnectionId CONNECTION_ID = new ConnectionId(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final Compressor zlib = new ZlibCompressor(MongoCompressor.createZlibCompressor());
+    private final Compressor snappy = new SnappyCompressor();
+
+    @Test
+    void shouldSampleEveryCandidateBeforeChoosing() {
+        AdaptiveCompressorSelector selector = new AdaptiveCompressorSelector(CONNECTION_ID, asList(zlib, snappy));
+
+        for (Compressor expected : asList(zlib, snappy)) {
+            for (int i = 0; i < MIN_SAMPLES; i++) {
+                assertSame(expected, selector.select("find"));
+                assertNull(selector.getChosenCompressor("find"));
+                selector.requestCompressed(1000, 500, 0);
+            }
+        }
+        assertSame(zlib, selector.select("find"));
+        assertSame(zlib, selector.getChosenCompressor("find"));
+    }
+
+    @Test
+    void shouldChooseTheCandidateWithTheHighestBenefitAndExploreTheOthers() {
+        AdaptiveCompressorSelector selector = new AdaptiveCompressorSelector(CONNECTION_ID, asList(zlib, snappy));
+        sample(selector, "find", 1000, 100, 2000);
+        sample(selector, "find", 1000, 200, 100);
+
+        for (int i = 1; i < EXPLORATION_INTERVAL; i++) {
+            assertSame(snappy, selector.select("find"));
+        }
+        assertSame(zlib, selector.select("find"));
+        assertSame(snappy, selector.select("find"));
+        assertSame(snappy, selector.getChosenCompressor("find"));
+    }
+
+    @Test
+    void shouldNotCompressWhenCompressionCostsMoreThanItSaves() {
+        AdaptiveCompressorSelector selector = new AdaptiveCompressorSelector(CONNECTION_ID, singletonList(zlib));
+        sample(selector, "find", 100, 90, 10_000);
+
+        for (int i = 1; i < EXPLORATION_INTERVAL; i++) {
+            assertNull(selector.select("find"));
+        }
+        assertSame(zlib, selector.select("find"));
+        assertNull(selector.getChosenCompressor("find"));
+    }
+
+    @Test
+    void shouldCountTheSavingsOfCompressedReplies() {
+        AdaptiveCompressorSelector selector = new AdaptiveCompressorSelector(CONNECTION_ID, singletonList(zlib));
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            assertSame(zlib, selector.select("getMore"));
+            selector.requestCompressed(100, 105, 10_000);
+            selector.replyUncompressed(10_000, 100_000, 100_000);
+        }
+
+        assertSame(zlib, selector.select("getMore"));
+        assertEquals(MIN_SAMPLES * (-5 + 100_000 - 10_000 - CompressedHeader.COMPRESSED_HEADER_LENGTH), selector.getBytesSaved());
+        assertEquals(MIN_SAMPLES * 110_000, selector.getElapsedNanos());
+    }
+
+    @Test
+    void shouldKeepSeparateStatisticsPerCommand() {
+        AdaptiveCompressorSelector selector = new AdaptiveCompressorSelector(CONNECTION_ID, singletonList(zlib));
+        sample(selector, "find", 100, 90, 10_000);
+
+        assertSame(zlib, selector.select("insert"));
+        assertNull(selector.getChosenCompressor("insert"));
+        assertNull(selector.select("find"));
+    }
+
+    @Test
+    void shouldRequireCandidates() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveCompressorSelector(CONNECTION_ID, asList()));
+    }
+
+    private static void sample(final AdaptiveCompressorSelector selector, final String commandName, final int uncompressedSize,
+            final int compressedSize, final long nanos) {
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            selector.select(commandName);
+            selector.requestCompressed(uncompressedSize, compressedSize, nanos);
+        }
+    }
+}
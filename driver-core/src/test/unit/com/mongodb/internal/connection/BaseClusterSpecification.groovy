@@ -34,10 +34,13 @@ import com.mongodb.event.ServerDescriptionChangedEvent
 import com.mongodb.internal.selector.ReadPreferenceServerSelector
 import com.mongodb.internal.selector.ServerAddressSelector
 import com.mongodb.internal.selector.WritableServerSelector
+import com.mongodb.selector.ServerSelector
 import spock.lang.Specification
 import util.spock.annotations.Slow
 
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.atomic.AtomicInteger
 
 import static com.mongodb.connection.ClusterConnectionMode.MULTIPLE
 import static com.mongodb.connection.ClusterSettings.builder
@@ -201,6 +204,29 @@ class BaseClusterSpecification extends Specification {
         serverSelectionTimeoutMS << [1, 0]
     }
 
+    def 'should throw timeout exception with the stack trace of the selecting thread'() {
+        given:
+        def cluster = new MultiServerCluster(new ClusterId(),
+                builder().mode(MULTIPLE)
+                        .hosts([firstServer, secondServer])
+                        .serverSelectionTimeout(100, MILLISECONDS)
+                        .build(),
+                factory)
+
+        when: 'the selection times out while waiting in the wait queue'
+        cluster.selectServer(new WritableServerSelector(), new OperationContext())
+
+        then: 'either the selecting thread or the wait queue handler times it out'
+        def e = thrown(MongoTimeoutException)
+        e.getStackTrace().any { it.className == BaseClusterSpecification.name }
+        e.getCause() == null || (e.getCause() instanceof MongoTimeoutException
+                && e.getCause().getMessage() == e.getMessage()
+                && e.getCause().getStackTrace().every { it.className != BaseClusterSpecification.name })
+
+        cleanup:
+        cluster?.close()
+    }
+
     def 'should select server'() {
         given:
         def cluster = new MultiServerCluster(new ClusterId(),
@@ -255,6 +281,121 @@ class BaseClusterSpecification extends Specification {
         cluster?.close()
     }
 
+    def 'should evaluate a selector shared by waiting threads once per cluster description change'() {
+        given:
+        def cluster = new MultiServerCluster(new ClusterId(),
+                builder().mode(MULTIPLE)
+                        .hosts([firstServer, secondServer, thirdServer])
+                        .serverSelectionTimeout(-1, SECONDS)
+                        .build(),
+                factory)
+        def selections = new AtomicInteger()
+        def primarySelector = new ReadPreferenceServerSelector(ReadPreference.primary())
+        ServerSelector countingSelector = { ClusterDescription clusterDescription ->
+            selections.incrementAndGet()
+            primarySelector.select(clusterDescription)
+        }
+        def numberOfThreads = 10
+        def selectedServers = new LinkedBlockingQueue<ServerAddress>()
+
+        when:
+        def threads = (1..numberOfThreads).collect {
+            new Thread({
+                selectedServers.add(cluster.selectServer(countingSelector, new OperationContext()).serverDescription.address)
+            })
+        }
+        threads*.start()
+        while (!threads.every { it.state == Thread.State.TIMED_WAITING }) {
+            sleep(10)
+        }
+        def selectionsBeforeChanges = selections.get()
+        factory.sendNotification(firstServer, REPLICA_SET_SECONDARY, allServers)
+        factory.sendNotification(secondServer, REPLICA_SET_SECONDARY, allServers)
+        factory.sendNotification(thirdServer, REPLICA_SET_PRIMARY, allServers)
+        def addresses = (1..numberOfThreads).collect { selectedServers.poll(ClusterFixture.TIMEOUT, SECONDS) }
+
+        then:
+        addresses.every { it == thirdServer }
+        selectionsBeforeChanges == numberOfThreads
+        selections.get() - selectionsBeforeChanges < numberOfThreads
+
+        cleanup:
+        cluster?.close()
+    }
+
+    def 'should time out selecting a server even if the wait queue handler is blocked'() {
+        given:
+        def cluster = new MultiServerCluster(new ClusterId(),
+                builder().mode(MULTIPLE)
+                        .hosts([firstServer, secondServer, thirdServer])
+                        .serverSelectionTimeout(1, SECONDS)
+                        .build(),
+                factory)
+        def handlerBlocked = new CountDownLatch(1)
+        def releaseHandler = new CountDownLatch(1)
+        ServerSelector blockingSelector = { ClusterDescription clusterDescription ->
+            if (Thread.currentThread().name.startsWith('cluster-')) {
+                handlerBlocked.countDown()
+                releaseHandler.await()
+            }
+            []
+        }
+        def failures = new LinkedBlockingQueue<Throwable>()
+
+        when:
+        def thread = new Thread({
+            try {
+                cluster.selectServer(blockingSelector, new OperationContext())
+            } catch (Throwable t) {
+                failures.add(t)
+            }
+        })
+        thread.start()
+        while (thread.state != Thread.State.TIMED_WAITING) {
+            sleep(10)
+        }
+        factory.sendNotification(firstServer, REPLICA_SET_SECONDARY, allServers)
+        handlerBlocked.await(ClusterFixture.TIMEOUT, SECONDS)
+        def failure = failures.poll(ClusterFixture.TIMEOUT, SECONDS)
+
+        then:
+        failure instanceof MongoTimeoutException
+
+        cleanup:
+        releaseHandler.countDown()
+        cluster?.close()
+    }
+
+    def 'should fail selecting a server synchronously if cluster is closed before success'() {
+        given:
+        def cluster = new MultiServerCluster(new ClusterId(),
+                builder().mode(MULTIPLE)
+                        .hosts([firstServer, secondServer, thirdServer])
+                        .serverSelectionTimeout(-1, SECONDS)
+                        .build(),
+                factory)
+        def failures = new LinkedBlockingQueue<Throwable>()
+
+        when:
+        def thread = new Thread({
+            try {
+                cluster.selectServer(new ServerAddressSelector(firstServer), new OperationContext())
+            } catch (Throwable t) {
+                failures.add(t)
+            }
+        })
+        thread.start()
+        while (thread.state != Thread.State.TIMED_WAITING) {
+            sleep(10)
+        }
+        cluster.close()
+        def failure = failures.poll(ClusterFixture.TIMEOUT, SECONDS)
+
+        then:
+        failure instanceof MongoClientException
+        failure.getMessage() == 'Shutdown in progress'
+    }
+
     def 'should select server asynchronously when server is already available'() {
         given:
         def cluster = new MultiServerCluster(new ClusterId(),
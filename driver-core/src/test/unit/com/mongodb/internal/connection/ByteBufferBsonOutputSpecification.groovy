@@ -293,6 +293,43 @@ class ByteBufferBsonOutputSpecification extends Specification {
         bsonOutput.size == 1032
     }
 
+    def 'should write values that span buffers'() {
+        given:
+        def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
+        bsonOutput.writeBytes(new byte[1024 - offset])
+
+        when:
+        bsonOutput.writeInt32(0x1020304)
+        bsonOutput.writeInt64(0x102030405060708L)
+        bsonOutput.writeString('hi')
+        bsonOutput.writeCString('abc')
+        bsonOutput.writeInt32(1024 - offset, 0x5060708)
+
+        then:
+        getBytes(bsonOutput)[(1024 - offset)..-1] as byte[] ==
+                [8, 7, 6, 5, 8, 7, 6, 5, 4, 3, 2, 1, 3, 0, 0, 0, (byte) 'h', (byte) 'i', 0, (byte) 'a', (byte) 'b', (byte) 'c', 0] as byte[]
+        bsonOutput.position == 1024 - offset + 23
+        bsonOutput.size == 1024 - offset + 23
+
+        where:
+        offset << (0..23)
+    }
+
+    def 'should write Int32 at position in an earlier buffer'() {
+        given:
+        def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
+        bsonOutput.writeBytes(new byte[4096])
+
+        when:
+        bsonOutput.writeInt32(1020, 0x1020304)
+        bsonOutput.writeInt32(2000, 0x5060708)
+
+        then:
+        getBytes(bsonOutput)[1020..1023] as byte[] == [4, 3, 2, 1] as byte[]
+        getBytes(bsonOutput)[2000..2003] as byte[] == [8, 7, 6, 5] as byte[]
+        bsonOutput.position == 4096
+    }
+
     def 'truncate should throw with invalid position'() {
         given:
         def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
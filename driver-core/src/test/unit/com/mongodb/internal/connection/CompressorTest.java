@@ -0,0 +1,95 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.MongoCompressor;
+import org.bson.ByteBuf;
+import org.bson.ByteBufNIO;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class CompressorTest {
+
+    static Stream<Arguments> compressors() {
+        List<Arguments> arguments = new ArrayList<>();
+        for (boolean direct : new boolean[] {false, true}) {
+            arguments.add(Arguments.of(new ZlibCompressor(MongoCompressor.createZlibCompressor()), direct));
+            arguments.add(Arguments.of(new ZlibCompressor(MongoCompressor.createZlibCompressor()
+                    .withProperty(MongoCompressor.LEVEL, 9)), direct));
+            arguments.add(Arguments.of(new SnappyCompressor(), direct));
+            arguments.add(Arguments.of(new ZstdCompressor(), direct));
+        }
+        return arguments.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("compressors")
+    public void shouldRoundTripMessagesOfDifferentSizes(final Compressor compressor, final boolean direct) {
+        // the same compressor is used for each message, as it is for each message sent on a connection
+        for (int size : new int[] {0, 1, 100, 1023, 1024, 5000, 100000}) {
+            byte[] message = createMessage(size);
+            List<ByteBuf> source = split(message, direct);
+
+            ByteBufferBsonOutput target = new ByteBufferBsonOutput(new SimpleBufferProvider());
+            compressor.compress(source, target);
+            for (ByteBuf cur : source) {
+                assertFalse(cur.hasRemaining());
+            }
+
+            ByteBuf uncompressed = new ByteBufNIO(ByteBuffer.allocate(size));
+            compressor.uncompress(new ByteBufNIO(ByteBuffer.wrap(target.toByteArray())), uncompressed);
+            assertArrayEquals(message, uncompressed.flip().array());
+        }
+    }
+
+    private static byte[] createMessage(final int size) {
+        Random random = new Random(size);
+        StringBuilder builder = new StringBuilder(size + 20);
+        while (builder.length() < size) {
+            builder.append("{\"field\": ").append(random.nextInt(1000)).append('}');
+        }
+        return builder.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // splits the message the way ByteBufferBsonOutput does, into buffers that double in size starting at 1024 bytes
+    private static List<ByteBuf> split(final byte[] message, final boolean direct) {
+        List<ByteBuf> buffers = new ArrayList<>();
+        int offset = 0;
+        int bufferSize = ByteBufferBsonOutput.INITIAL_BUFFER_SIZE;
+        do {
+            int length = Math.min(bufferSize, message.length - offset);
+            ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+            buffer.put(message, offset, length).flip();
+            buffers.add(new ByteBufNIO(buffer));
+            offset += length;
+            bufferSize *= 2;
+        } while (offset < message.length);
+        return buffers;
+    }
+}
@@ -17,16 +17,20 @@
 package com.mongodb.internal.connection;
 
 import com.mongodb.MongoException;
+import com.mongodb.MongoInterruptedException;
 import com.mongodb.MongoTimeoutException;
 import org.junit.Test;
 
 import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -72,6 +76,42 @@ public class ConcurrentPoolTest {
         assertTrue(pool.acquirePermit(-1, MILLISECONDS));
     }
 
+    @Test
+    public void testThatGetThrowsIfInterruptedEvenIfPermitIsAvailable() {
+        pool = new ConcurrentPool<>(1, new TestItemFactory());
+
+        Thread.currentThread().interrupt();
+        try {
+            pool.get();
+            fail();
+        } catch (MongoInterruptedException e) {
+            // expected
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(0, pool.getInUseCount());
+        assertTrue(pool.acquirePermit(-1, MILLISECONDS));
+    }
+
+    @Test
+    public void testThatReleaseWakesUpWaitingGet() throws InterruptedException {
+        pool = new ConcurrentPool<>(1, new TestItemFactory());
+
+        TestCloseable item = pool.get();
+        AtomicReference<TestCloseable> itemFromWaitingGet = new AtomicReference<>();
+        Thread waitingThread = new Thread(() -> itemFromWaitingGet.set(pool.get(1, MINUTES)));
+        waitingThread.start();
+        while (waitingThread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        pool.release(item);
+        waitingThread.join();
+
+        assertSame(item, itemFromWaitingGet.get());
+        assertEquals(1, pool.getInUseCount());
+    }
+
     @Test
     public void testInUseCount() {
         pool = new ConcurrentPool<>(3, new TestItemFactory());
@@ -25,6 +25,7 @@ import com.mongodb.connection.ConnectionDescription
 import com.mongodb.connection.ConnectionId
 import com.mongodb.connection.ServerId
 import com.mongodb.event.ConnectionCheckOutFailedEvent
+import com.mongodb.event.ConnectionClosedEvent
 import com.mongodb.event.ConnectionPoolListener
 import com.mongodb.internal.async.SingleResultCallback
 import com.mongodb.internal.inject.EmptyProvider
@@ -38,6 +39,7 @@ import util.spock.annotations.Slow
 
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.regex.Matcher
 import java.util.regex.Pattern
 
@@ -181,6 +183,96 @@ class DefaultConnectionPoolSpecification extends Specification {
         connectionFactory.createdConnections.get(0).opened()  // if the first one is opened, they all should be
     }
 
+    def 'should open up to maxConnecting connections concurrently to ensure min pool size'() {
+        given:
+        def numOpening = new AtomicInteger()
+        def maxNumOpening = new AtomicInteger()
+        connectionFactory.setOpenAction {
+            maxNumOpening.accumulateAndGet(numOpening.incrementAndGet(), Math.&max)
+            Thread.sleep(100)
+            numOpening.decrementAndGet()
+        }
+        pool = new DefaultConnectionPool(SERVER_ID, connectionFactory,
+                builder().maxSize(10).minSize(7).maxConnecting(3).maintenanceInitialDelay(5, MINUTES).build(), mockSdamProvider())
+        pool.ready()
+
+        when: 'the maintenance task runs'
+        pool.doMaintenance()
+
+        then: 'it opens the connections concurrently and returns once they all are open'
+        connectionFactory.createdConnections.size() == 7
+        connectionFactory.createdConnections.every { it.opened() }
+        maxNumOpening.get() == 3
+
+        when: 'the pool is closed'
+        pool.close()
+        def deadline = System.currentTimeMillis() + 5000
+        while (openerThreads() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        then: 'no threads opening connections are left'
+        !openerThreads()
+    }
+
+    def 'should adapt min pool size to the peak number of connections in use'() {
+        given:
+        pool = new DefaultConnectionPool(SERVER_ID, connectionFactory,
+                builder().maxSize(10).minSize(1).adaptiveMinSize(true).maintenanceInitialDelay(5, MINUTES)
+                        .maintenanceFrequency(1, MILLISECONDS).build(), mockSdamProvider())
+        pool.ready()
+
+        when: 'four connections are in use at the same time and the maintenance task runs'
+        def connections = (1..4).collect { pool.get(new OperationContext()) }
+        connections.each { it.close() }
+        pool.doMaintenance()
+
+        then: 'the pool keeps all four connections'
+        connectionFactory.createdConnections.size() == 4
+        pool.getPool().getCount() == 4
+
+        when: 'the connections stay idle across maintenance runs'
+        Thread.sleep(10)
+        pool.doMaintenance()
+
+        then: 'the pool shrinks halfway towards the peak'
+        pool.getPool().getCount() == 2
+
+        when:
+        Thread.sleep(10)
+        pool.doMaintenance()
+
+        then: 'the pool does not shrink below the configured min size'
+        pool.getPool().getCount() == 1
+    }
+
+    def 'should fire connection closed events with the reason of closing when the min pool size is adaptive'() {
+        given:
+        def listener = Mock(ConnectionPoolListener)
+        pool = new DefaultConnectionPool(SERVER_ID, connectionFactory,
+                builder().maxSize(10).minSize(1).adaptiveMinSize(true).maintenanceInitialDelay(5, MINUTES)
+                        .maintenanceFrequency(1, MILLISECONDS).addConnectionPoolListener(listener).build(), mockSdamProvider())
+        pool.ready()
+        def connections = (1..2).collect { pool.get(new OperationContext()) }
+        connections.each { it.close() }
+        pool.doMaintenance()
+
+        when: 'the connections stay idle across maintenance runs'
+        Thread.sleep(10)
+        pool.doMaintenance()
+
+        then: 'the pruned connection is closed as idle'
+        1 * listener.connectionClosed { it.reason == ConnectionClosedEvent.Reason.IDLE }
+
+        when: 'the remaining connection stays idle and the pool is closed'
+        Thread.sleep(10)
+        pool.close()
+
+        then:
+        1 * listener.connectionClosed { it.reason == ConnectionClosedEvent.Reason.POOL_CLOSED }
+        0 * listener.connectionClosed { it.reason == ConnectionClosedEvent.Reason.IDLE }
+    }
+
     def 'should invoke connection pool created event'() {
         given:
         def listener = Mock(ConnectionPoolListener)
@@ -721,6 +813,10 @@ class DefaultConnectionPoolSpecification extends Specification {
         serverLatch
     }
 
+    private static boolean openerThreads() {
+        Thread.getAllStackTraces().keySet().any { it.name.startsWith('MaintenanceOpener') && it.alive }
+    }
+
     private mockSdamProvider() {
         SameObjectProvider.initialized(Mock(SdamServerDescriptionManager))
     }
@@ -16,6 +16,7 @@
 
 package com.mongodb.internal.connection
 
+import com.mongodb.MongoTimeoutException
 import com.mongodb.ServerAddress
 import com.mongodb.connection.ClusterId
 import com.mongodb.connection.ConnectionPoolSettings
@@ -29,6 +30,8 @@ import spock.lang.Unroll
 import javax.management.ObjectName
 import java.lang.management.ManagementFactory
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS
+
 class JMXConnectionPoolListenerSpecification extends Specification {
     private static final ServerId SERVER_ID = new ServerId(new ClusterId(), new ServerAddress('host1', 27018))
 
@@ -58,6 +61,34 @@ class JMXConnectionPoolListenerSpecification extends Specification {
             maxSize == 5
             size == 2
             checkedOutCount == 1
+            waitQueueSize == 0
+            checkOutCount == 2
+            checkOutFailedCount == 0
+        }
+
+        cleanup:
+        provider.close()
+    }
+
+    def 'statistics should count failed check-outs'() {
+        given:
+        provider = new DefaultConnectionPool(SERVER_ID, connectionFactory,
+                ConnectionPoolSettings.builder().minSize(0).maxSize(1)
+                        .addConnectionPoolListener(jmxListener).build(), mockSdamProvider())
+        provider.ready()
+        provider.get(new OperationContext())
+
+        when:
+        provider.get(new OperationContext(), 1, MILLISECONDS)
+
+        then:
+        thrown(MongoTimeoutException)
+        with(jmxListener.getMBean(SERVER_ID)) {
+            waitQueueSize == 0
+            checkOutCount == 1
+            checkOutFailedCount == 1
+            checkOutTimedOutCount == 1
+            totalCheckOutTimeMillis >= 1
         }
 
         cleanup:
@@ -211,4 +211,48 @@ class LoggingCommandEventSenderSpecification extends Specification {
                     "request ID is ${message.getId()} and the operation ID is ${operationContext.getId()}. Command: {}"
         }
     }
+
+    def 'should report a redacted reply to a security-sensitive command without copying it'() {
+        given:
+        def serverId = new ServerId(new ClusterId(), new ServerAddress())
+        def connectionDescription = new ConnectionDescription(serverId)
+                .withConnectionId(new ConnectionId(serverId, 42, 1000))
+        def namespace = new MongoNamespace('test.driver')
+        def messageSettings = MessageSettings.builder().maxWireVersion(LATEST_WIRE_VERSION).build()
+        def commandListener = new TestCommandListener()
+        def commandDocument = new BsonDocument('createUser', new BsonString('private'))
+        def message = new CommandMessage(namespace, commandDocument, new NoOpFieldNameValidator(), ReadPreference.primary(),
+                messageSettings, SINGLE, null)
+        def bsonOutput = new ByteBufferBsonOutput(new SimpleBufferProvider())
+        message.encode(bsonOutput, NoOpSessionContext.INSTANCE)
+        def responseBuffers = Spy(MessageHelper.buildSuccessfulReply(message.getId(), '{ok: 1, secret: "private"}'))
+        def logger = Mock(Logger) {
+            isDebugEnabled() >> true
+        }
+        def operationContext = new OperationContext()
+        def sender = new LoggingCommandEventSender(['createUser'] as Set, [] as Set, connectionDescription, commandListener,
+                IgnorableRequestContext.INSTANCE, operationContext, message, bsonOutput, new StructuredLogger(logger),
+                LoggerSettings.builder().build())
+
+        when:
+        sender.sendStartedEvent()
+        sender.sendSucceededEvent(responseBuffers)
+
+        then:
+        0 * responseBuffers.getReplyHeader()
+        0 * responseBuffers.getBodyByteBuffer()
+        1 * logger.debug {
+            it.matches("Command \"createUser\" succeeded on database \"test\" in \\d+\\.\\d+ ms using a connection with " +
+                    "driver-generated ID ${connectionDescription.connectionId.localValue} and server-generated ID " +
+                    "${connectionDescription.connectionId.serverValue} to 127.0.0.1:27017. The " +
+                    "request ID is ${message.getId()} and the operation ID is ${operationContext.getId()}. Command reply: \\{}")
+        }
+        commandListener.eventsWereDelivered(
+                [
+                        new CommandStartedEvent(null, operationContext.id, message.getId(), connectionDescription,
+                                namespace.databaseName, commandDocument.getFirstKey(), new BsonDocument()),
+                        new CommandSucceededEvent(null, operationContext.id, message.getId(), connectionDescription,
+                                namespace.databaseName, commandDocument.getFirstKey(), new BsonDocument(), 1)
+                ])
+    }
 }
@@ -24,8 +24,10 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class PowerOfTwoBufferPoolTest {
     private PowerOfTwoBufferPool pool;
@@ -65,6 +67,35 @@ public class PowerOfTwoBufferPoolTest {
         assertSame(byteBuffer, pool.getBuffer((int) Math.pow(2, 10)).asNIO());
     }
 
+    @Test
+    public void testReuseAcrossStripes() throws InterruptedException {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(10, 1, TimeUnit.MINUTES, 4);
+        ByteBuf buf = pool.getBuffer((int) Math.pow(2, 10));
+        ByteBuffer byteBuffer = buf.asNIO();
+        Thread releasingThread = new Thread(buf::release);
+        releasingThread.start();
+        releasingThread.join();
+        assertSame(byteBuffer, pool.getBuffer((int) Math.pow(2, 10)).asNIO());
+    }
+
+    @Test
+    public void testDirectBuffersUpToLimit() {
+        PowerOfTwoBufferPool pool = new PowerOfTwoBufferPool(10, 1, TimeUnit.MINUTES, 1, 1536);
+        ByteBuf directBuf = pool.getBuffer(1024);
+        assertTrue(directBuf.asNIO().isDirect());
+        assertEquals(1024, pool.getAllocatedDirectBytes());
+
+        ByteBuf heapBuf = pool.getBuffer(1024);
+        assertFalse(heapBuf.asNIO().isDirect());
+        assertEquals(1024, pool.getAllocatedDirectBytes());
+
+        ByteBuffer directByteBuffer = directBuf.asNIO();
+        heapBuf.release();
+        directBuf.release();
+        assertSame(directByteBuffer, pool.getBuffer(1024).asNIO());
+        assertTrue(pool.getBuffer(1024).asNIO().hasArray());
+    }
+
     @Test
     public void testHugeBufferRequest() {
         ByteBuf buf = pool.getBuffer((int) Math.pow(2, 10) + 1);
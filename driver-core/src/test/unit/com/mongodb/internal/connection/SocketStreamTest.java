@@ -0,0 +1,125 @@
+/*
+ * Copyright 2008-present MongoDB, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mongodb.internal.connection;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.SocketSettings;
+import com.mongodb.connection.SslSettings;
+import org.bson.ByteBuf;
+import org.junit.jupiter.api.Test;
+
+import javax.net.SocketFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.mongodb.internal.connection.SocketStream.MAX_COALESCED_WRITE_SIZE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SocketStreamTest {
+
+    @Test
+    void shouldWriteSingleBufferInOneWrite() throws Exception {
+        RecordingOutputStream outputStream = new RecordingOutputStream();
+        SocketStream stream = createOpenStream(outputStream);
+
+        List<ByteBuf> buffers = singletonList(createBuffer(MAX_COALESCED_WRITE_SIZE * 2, 0));
+        stream.write(buffers);
+
+        assertEquals(singletonList(MAX_COALESCED_WRITE_SIZE * 2), outputStream.writeLengths);
+        assertArrayEquals(concatenate(buffers), outputStream.toByteArray());
+    }
+
+    @Test
+    void shouldCoalesceSmallBuffersIntoOneWrite() throws Exception {
+        RecordingOutputStream outputStream = new RecordingOutputStream();
+        SocketStream stream = createOpenStream(outputStream);
+
+        List<ByteBuf> buffers = asList(createBuffer(1024, 1), createBuffer(2048, 2), createBuffer(100, 3));
+        stream.write(buffers);
+
+        assertEquals(singletonList(1024 + 2048 + 100), outputStream.writeLengths);
+        assertArrayEquals(concatenate(buffers), outputStream.toByteArray());
+    }
+
+    @Test
+    void shouldWriteLargeBuffersWithoutCoalescing() throws Exception {
+        RecordingOutputStream outputStream = new RecordingOutputStream();
+        SocketStream stream = createOpenStream(outputStream);
+
+        List<ByteBuf> buffers = asList(createBuffer(1024, 1), createBuffer(MAX_COALESCED_WRITE_SIZE - 1000, 2),
+                createBuffer(MAX_COALESCED_WRITE_SIZE, 3), createBuffer(10, 4));
+        stream.write(buffers);
+
+        assertEquals(asList(1024, MAX_COALESCED_WRITE_SIZE - 1000, MAX_COALESCED_WRITE_SIZE, 10), outputStream.writeLengths);
+        assertArrayEquals(concatenate(buffers), outputStream.toByteArray());
+    }
+
+    private static SocketStream createOpenStream(final OutputStream outputStream) {
+        SocketStream stream = new SocketStream(new ServerAddress(), new DefaultInetAddressResolver(), SocketSettings.builder().build(),
+                SslSettings.builder().build(), SocketFactory.getDefault(), new SimpleBufferProvider()) {
+            @Override
+            protected Socket initializeSocket() {
+                return new Socket() {
+                    @Override
+                    public OutputStream getOutputStream() {
+                        return outputStream;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return null;
+                    }
+                };
+            }
+        };
+        stream.open();
+        return stream;
+    }
+
+    private static ByteBuf createBuffer(final int size, final int value) {
+        ByteBuf buffer = new SimpleBufferProvider().getBuffer(size);
+        for (int i = 0; i < size; i++) {
+            buffer.put(i, (byte) (value + i));
+        }
+        return buffer;
+    }
+
+    private static byte[] concatenate(final List<ByteBuf> buffers) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (ByteBuf cur : buffers) {
+            outputStream.write(cur.array(), 0, cur.limit());
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static final class RecordingOutputStream extends ByteArrayOutputStream {
+        private final List<Integer> writeLengths = new ArrayList<>();
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) {
+            writeLengths.add(len);
+            super.write(b, off, len);
+        }
+    }
+}
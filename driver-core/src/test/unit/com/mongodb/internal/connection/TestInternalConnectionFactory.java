@@ -37,6 +37,7 @@ import static com.mongodb.connection.ServerDescription.getDefaultMaxDocumentSize
 class TestInternalConnectionFactory implements InternalConnectionFactory {
     private final AtomicInteger incrementingId = new AtomicInteger();
     private final List<TestInternalConnection> createdConnections = new CopyOnWriteArrayList<>();
+    private volatile Runnable openAction = () -> { };
 
     @Override
     public InternalConnection create(final ServerId serverId, final ConnectionGenerationSupplier connectionGenerationSupplier) {
@@ -53,6 +54,10 @@ class TestInternalConnectionFactory implements InternalConnectionFactory {
         return createdConnections.size();
     }
 
+    void setOpenAction(final Runnable openAction) {
+        this.openAction = openAction;
+    }
+
     class TestInternalConnection implements InternalConnection {
         private final ConnectionId connectionId;
         private final int generation;
@@ -70,6 +75,7 @@ class TestInternalConnectionFactory implements InternalConnectionFactory {
         }
 
         public void open() {
+            openAction.run();
             opened = true;
         }
 